@@ -0,0 +1,103 @@
+#!/usr/bin/env bash
+#
+# Startup time and resident memory of the order service: plain JVM, JVM with AOT + CDS, native image
+#
+#   mvn -DskipTests package                  -> jvm
+#   mvn -Pcds -DskipTests package            -> jvm+cds
+#   mvn -Pnative -DskipTests native:compile  -> native
+#
+# Usage: scripts/startup-benchmark.sh [runs] [mode...]
+# Each run starts the service, polls /actuator/health until UP, then reads VmRSS from /proc and stops it.
+# Reports the median time-to-ready and RSS per mode. By default every mode runs the prod profile (the one
+# AOT is built for) on an embedded H2 database, so the runs compare the same bean set without PostgreSQL;
+# set APP_ARGS to override, e.g. to point at a real database.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+[[ $# -gt 0 ]] && shift
+if [[ $# -gt 0 ]]; then
+    MODES=("$@")
+else
+    MODES=(jvm jvm+cds native)
+fi
+
+PORT="${PORT:-18080}"
+APP_ARGS="${APP_ARGS:---spring.profiles.active=prod --spring.datasource.url=jdbc:h2:mem:startup --spring.datasource.driver-class-name=org.h2.Driver --spring.jpa.hibernate.ddl-auto=create-drop}"
+JAR="$(ls target/*.jar 2>/dev/null | grep -v original | head -n 1 || true)"
+HEALTH_URL="http://localhost:${PORT}/order-service/actuator/health"
+
+command_for() {
+    case "$1" in
+        jvm)
+            [[ -n "$JAR" ]] || return 1
+            echo "java -jar $JAR $APP_ARGS"
+            ;;
+        jvm+cds)
+            [[ -f target/cds/application.jsa ]] || return 1
+            echo "java -XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true -jar target/cds/$(basename "$JAR") $APP_ARGS"
+            ;;
+        native)
+            [[ -x target/order-service ]] || return 1
+            echo "target/order-service $APP_ARGS"
+            ;;
+        *)
+            return 1
+            ;;
+    esac
+}
+
+now_millis() {
+    date +%s%3N
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : int((values[NR / 2] + values[NR / 2 + 1]) / 2) }'
+}
+
+run_once() {
+    local command="$1"
+    local start pid ready rss
+
+    start=$(now_millis)
+    $command --server.port="$PORT" > /dev/null 2>&1 &
+    pid=$!
+
+    until curl -fs "$HEALTH_URL" 2> /dev/null | grep -q '"UP"'; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "process exited before becoming ready" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+
+    ready=$(( $(now_millis) - start ))
+    rss=$(awk '/VmRSS/ { print $2 }' "/proc/$pid/status")
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+
+    echo "$ready $rss"
+}
+
+printf "%-10s %6s %16s %12s\n" "mode" "runs" "ready_ms(p50)" "rss_mb(p50)"
+
+for mode in "${MODES[@]}"; do
+
+    if ! command=$(command_for "$mode"); then
+        printf "%-10s %6s %16s %12s\n" "$mode" "-" "not built" "-"
+        continue
+    fi
+
+    results=()
+    for ((run = 0; run < RUNS; run++)); do
+        results+=("$(run_once "$command")")
+    done
+
+    ready_p50=$(printf "%s\n" "${results[@]}" | awk '{ print $1 }' | median)
+    rss_p50=$(printf "%s\n" "${results[@]}" | awk '{ print $2 }' | median)
+
+    printf "%-10s %6d %16d %12d\n" "$mode" "$RUNS" "$ready_p50" "$(( rss_p50 / 1024 ))"
+done
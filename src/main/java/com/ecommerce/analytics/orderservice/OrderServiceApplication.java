@@ -1,9 +1,12 @@
 package com.ecommerce.analytics.orderservice;
 
+import com.ecommerce.analytics.orderservice.config.OrderServiceRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(OrderServiceRuntimeHints.class)
 public class OrderServiceApplication {
 
     public static void main(String[] args) {
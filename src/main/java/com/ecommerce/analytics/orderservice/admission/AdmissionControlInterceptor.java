@@ -0,0 +1,157 @@
+package com.ecommerce.analytics.orderservice.admission;
+
+import com.ecommerce.analytics.orderservice.config.AdmissionProperties;
+import com.ecommerce.analytics.orderservice.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the database-bound order endpoints
+ * <p>
+ * A request first takes a token from its client's bucket for the endpoint class, then waits at most
+ * the queue timeout for one of the concurrency slots; failing either is answered with 429.
+ * Outcomes are counted in orders.admission.requests, tagged by endpoint class
+ */
+@Component
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    public static final String REQUESTS_COUNTER = "orders.admission.requests";
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".PERMIT";
+
+    private final AdmissionProperties admissionProperties;
+    private final ClientRateLimiter clientRateLimiter;
+    private final Semaphore concurrencySlots;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public AdmissionControlInterceptor(AdmissionProperties admissionProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.admissionProperties = admissionProperties;
+        this.clientRateLimiter = new ClientRateLimiter(admissionProperties);
+        this.concurrencySlots = new Semaphore(admissionProperties.getMaxConcurrentRequests());
+        this.meterRegistry = meterRegistry.getIfAvailable();
+
+        if (this.meterRegistry != null) {
+            Gauge.builder("orders.admission.inflight", concurrencySlots,
+                            slots -> admissionProperties.getMaxConcurrentRequests() - slots.availablePermits())
+                    .description("Requests currently holding a concurrency slot")
+                    .register(this.meterRegistry);
+            Gauge.builder("orders.admission.buckets", clientRateLimiter, ClientRateLimiter::getBucketCount)
+                    .description("Active client token buckets")
+                    .register(this.meterRegistry);
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        if (!admissionProperties.isEnabled() || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        AdmissionClass admissionClass = handlerMethod.getMethodAnnotation(AdmissionClass.class);
+        if (admissionClass == null) {
+            return true;
+        }
+
+        EndpointClass endpointClass = admissionClass.value();
+
+        long retryAfterNanos = clientRateLimiter.tryAcquire(clientId(request), endpointClass);
+        if (retryAfterNanos > 0) {
+            count(endpointClass, "rate_limited");
+            throw new AdmissionRejectedException("RATE_LIMITED",
+                    "Rate limit exceeded for " + endpointClass.name().toLowerCase() + " requests",
+                    Duration.ofNanos(retryAfterNanos));
+        }
+
+        if (!acquireSlot(endpointClass)) {
+            count(endpointClass, "shed");
+            throw new AdmissionRejectedException("OVERLOADED",
+                    "Service is at capacity, retry shortly",
+                    admissionProperties.getQueueTimeout());
+        }
+
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        count(endpointClass, "admitted");
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            concurrencySlots.release();
+        }
+    }
+
+    /**
+     * Take one more concurrency slot without waiting, for an admitted request that opens a further connection;
+     * always granted when admission control is disabled
+     */
+    public boolean tryAcquireAdditionalSlot() {
+        return !admissionProperties.isEnabled() || concurrencySlots.tryAcquire();
+    }
+
+    /**
+     * Return a slot taken with tryAcquireAdditionalSlot
+     */
+    public void releaseAdditionalSlot() {
+        if (admissionProperties.isEnabled()) {
+            concurrencySlots.release();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.admission.idle-bucket-sweep-interval:PT1M}")
+    public void evictIdleBuckets() {
+        clientRateLimiter.evictIdleBuckets();
+    }
+
+    private boolean acquireSlot(EndpointClass endpointClass) {
+
+        long start = System.nanoTime();
+
+        try {
+            return concurrencySlots.tryAcquire(admissionProperties.getQueueTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            if (meterRegistry != null) {
+                Timer.builder("orders.admission.queue.wait")
+                        .tag("endpoint.class", endpointClass.name())
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String apiKey = request.getHeader(admissionProperties.getClientHeader());
+        return apiKey != null && admissionProperties.getApiKeys().contains(apiKey) ? apiKey : request.getRemoteAddr();
+    }
+
+    private void count(EndpointClass endpointClass, String outcome) {
+        if (meterRegistry != null) {
+            Counter.builder(REQUESTS_COUNTER)
+                    .tag("endpoint.class", endpointClass.name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
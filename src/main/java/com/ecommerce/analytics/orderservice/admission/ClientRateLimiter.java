@@ -0,0 +1,47 @@
+package com.ecommerce.analytics.orderservice.admission;
+
+import com.ecommerce.analytics.orderservice.config.AdmissionProperties;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Token buckets keyed by client and endpoint class
+ * Buckets are created on first use and dropped again once they have fully refilled
+ */
+public class ClientRateLimiter {
+
+    private final AdmissionProperties admissionProperties;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public ClientRateLimiter(AdmissionProperties admissionProperties) {
+        this.admissionProperties = admissionProperties;
+    }
+
+    /**
+     * Take a token from the client's bucket for the endpoint class
+     *
+     * @return 0 when admitted, otherwise the nanoseconds until the client may retry
+     */
+    public long tryAcquire(String clientId, EndpointClass endpointClass) {
+
+        long now = System.nanoTime();
+
+        TokenBucket bucket = buckets.computeIfAbsent(endpointClass.name() + ':' + clientId, key -> {
+            AdmissionProperties.Limit limit = admissionProperties.getLimits()
+                    .getOrDefault(endpointClass, new AdmissionProperties.Limit());
+            return new TokenBucket(limit.getRatePerSecond(), limit.getBurst(), now);
+        });
+
+        return bucket.tryAcquire(now);
+    }
+
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.analytics.orderservice.admission;
+
+/**
+ * Endpoint classes with separate rate limits, from cheapest to most expensive per request
+ */
+public enum EndpointClass {
+
+    LOOKUP,
+    WRITE,
+    SEARCH,
+    STATS
+}
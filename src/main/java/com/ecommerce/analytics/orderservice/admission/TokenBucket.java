@@ -0,0 +1,51 @@
+package com.ecommerce.analytics.orderservice.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as the generic cell rate algorithm
+ * <p>
+ * The only state is the theoretical arrival time of the next request, advanced with a CAS loop:
+ * a request is admitted when that time stays within the burst window ahead of now
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstWindowNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.burstWindowNanos = emissionIntervalNanos * Math.max(burst, 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take one token
+     *
+     * @return 0 when admitted, otherwise the nanoseconds until a token becomes available
+     */
+    public long tryAcquire(long nowNanos) {
+
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long nextArrival = Math.max(arrival, nowNanos) + emissionIntervalNanos;
+            long ahead = nextArrival - nowNanos;
+
+            if (ahead > burstWindowNanos) {
+                return ahead - burstWindowNanos;
+            }
+
+            if (theoreticalArrival.compareAndSet(arrival, nextArrival)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket whose tokens have fully refilled holds no state worth keeping
+     */
+    public boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.analytics.orderservice.codec;
+
+import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes List&lt;OrderResponse&gt; bodies of the list endpoints through OrderResponseWriter
+ * Registered ahead of the Jackson converter; every other body type, and all request bodies, fall through to it
+ */
+public class OrderResponseListHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<OrderResponse>> {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Generators are created through the mapper so its generator features (e.g. plain BigDecimals) still apply
+     */
+    public OrderResponseListHttpMessageConverter(ObjectMapper objectMapper, MediaType... supportedMediaTypes) {
+        super(supportedMediaTypes);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+
+        if (type == null || !List.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+
+        ResolvableType elementType = ResolvableType.forType(type).as(List.class).getGeneric(0);
+        return OrderResponse.class.equals(elementType.resolve()) && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(List<OrderResponse> orders, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+
+        try (JsonGenerator generator = objectMapper.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), JsonEncoding.UTF8)) {
+            OrderResponseWriter.writeList(orders, generator);
+        }
+    }
+
+    @Override
+    public List<OrderResponse> read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("OrderResponse lists are write-only", inputMessage);
+    }
+
+    @Override
+    protected List<OrderResponse> readInternal(Class<? extends List<OrderResponse>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("OrderResponse lists are write-only", inputMessage);
+    }
+}
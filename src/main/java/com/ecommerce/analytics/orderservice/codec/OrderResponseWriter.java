@@ -0,0 +1,150 @@
+package com.ecommerce.analytics.orderservice.codec;
+
+import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Hand-written serializer for OrderResponse rows, streaming straight into a JsonGenerator
+ * Field names are pre-encoded once and createdAt is formatted into a reused char buffer, so a row costs no
+ * bean introspection and no per-field String allocation. For JSON the output is byte-for-byte what the
+ * application ObjectMapper produces; the generator decides the wire format, so the same code writes CBOR
+ */
+final class OrderResponseWriter {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString ORDER_NUMBER = new SerializedString("orderNumber");
+    private static final SerializedString CUSTOMER_NAME = new SerializedString("customerName");
+    private static final SerializedString CUSTOMER_EMAIL = new SerializedString("customerEmail");
+    private static final SerializedString TOTAL_AMOUNT = new SerializedString("totalAmount");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString NOTES = new SerializedString("notes");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString VERSION = new SerializedString("version");
+
+    private static final int FIELD_COUNT = 9;
+
+    /**
+     * yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+     */
+    private static final int MAX_DATE_TIME_LENGTH = 29;
+
+    private OrderResponseWriter() {
+    }
+
+    static void writeList(List<OrderResponse> orders, JsonGenerator generator) throws IOException {
+
+        char[] buffer = new char[MAX_DATE_TIME_LENGTH];
+
+        generator.writeStartArray(orders, orders.size());
+        for (OrderResponse order : orders) {
+            write(order, generator, buffer);
+        }
+        generator.writeEndArray();
+    }
+
+    static void write(OrderResponse order, JsonGenerator generator) throws IOException {
+        write(order, generator, new char[MAX_DATE_TIME_LENGTH]);
+    }
+
+    private static void write(OrderResponse order, JsonGenerator generator, char[] buffer) throws IOException {
+
+        generator.writeStartObject(order, FIELD_COUNT);
+
+        generator.writeFieldName(ID);
+        if (order.getId() != null) {
+            generator.writeNumber(order.getId());
+        } else {
+            generator.writeNull();
+        }
+
+        generator.writeFieldName(ORDER_NUMBER);
+        generator.writeString(order.getOrderNumber());
+
+        generator.writeFieldName(CUSTOMER_NAME);
+        generator.writeString(order.getCustomerName());
+
+        generator.writeFieldName(CUSTOMER_EMAIL);
+        generator.writeString(order.getCustomerEmail());
+
+        generator.writeFieldName(TOTAL_AMOUNT);
+        generator.writeNumber(order.getTotalAmount());
+
+        generator.writeFieldName(STATUS);
+        generator.writeString(order.getStatus());
+
+        generator.writeFieldName(NOTES);
+        generator.writeString(order.getNotes());
+
+        generator.writeFieldName(CREATED_AT);
+        writeDateTime(order.getCreatedAt(), generator, buffer);
+
+        generator.writeFieldName(VERSION);
+        if (order.getVersion() != null) {
+            generator.writeNumber(order.getVersion());
+        } else {
+            generator.writeNull();
+        }
+
+        generator.writeEndObject();
+    }
+
+    /**
+     * Same text as DateTimeFormatter.ISO_LOCAL_DATE_TIME, which is what Jackson's LocalDateTimeSerializer uses
+     * when dates are not written as timestamps: seconds always present, fraction trimmed of trailing zeros
+     */
+    private static void writeDateTime(LocalDateTime dateTime, JsonGenerator generator, char[] buffer) throws IOException {
+
+        if (dateTime == null) {
+            generator.writeNull();
+            return;
+        }
+
+        int year = dateTime.getYear();
+        if (year < 0 || year > 9999) {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime));
+            return;
+        }
+
+        int position = 0;
+        position = writeDigits(buffer, position, year, 4);
+        buffer[position++] = '-';
+        position = writeDigits(buffer, position, dateTime.getMonthValue(), 2);
+        buffer[position++] = '-';
+        position = writeDigits(buffer, position, dateTime.getDayOfMonth(), 2);
+        buffer[position++] = 'T';
+        position = writeDigits(buffer, position, dateTime.getHour(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(buffer, position, dateTime.getMinute(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(buffer, position, dateTime.getSecond(), 2);
+
+        int nano = dateTime.getNano();
+        if (nano > 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            buffer[position++] = '.';
+            position = writeDigits(buffer, position, nano, digits);
+        }
+
+        generator.writeString(buffer, 0, position);
+    }
+
+    private static int writeDigits(char[] buffer, int position, int value, int width) {
+
+        for (int index = position + width - 1; index >= position; index--) {
+            buffer[index] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+
+        return position + width;
+    }
+}
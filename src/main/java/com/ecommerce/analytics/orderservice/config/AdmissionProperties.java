@@ -0,0 +1,52 @@
+package com.ecommerce.analytics.orderservice.config;
+
+import com.ecommerce.analytics.orderservice.admission.EndpointClass;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-client rate limits and request admission control, bound from orders.admission.*
+ */
+@Data
+@ConfigurationProperties(prefix = "orders.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Header identifying the client, requests without it are keyed by remote address
+     */
+    private String clientHeader = "X-API-Key";
+
+    /**
+     * Client header values trusted as the client identity; any other value is ignored and the request keyed by
+     * remote address, so rotating an unknown key neither escapes the limit nor creates buckets
+     */
+    private Set<String> apiKeys = new HashSet<>();
+
+    /**
+     * Requests allowed to run against the database at once, keep below the Hikari pool size
+     */
+    private int maxConcurrentRequests = 16;
+
+    /**
+     * Longest a request may wait for a concurrency slot before it is shed with 429
+     */
+    private Duration queueTimeout = Duration.ofMillis(100);
+
+    private Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+
+    @Data
+    public static class Limit {
+
+        private double ratePerSecond = 50;
+
+        private int burst = 100;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.analytics.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sampled statistics (/stats?mode=approximate), bound from orders.stats.approximate.*
+ */
+@Data
+@ConfigurationProperties(prefix = "orders.stats.approximate")
+public class ApproximateStatsProperties {
+
+    /**
+     * Orders the sampling rate aims to read, derived from the planner's row estimate; smaller tables are read whole
+     */
+    private long targetSampleSize = 50_000;
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.analytics.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Archival of final-state orders, bound from orders.archival.*
+ */
+@Data
+@ConfigurationProperties(prefix = "orders.archival")
+public class ArchivalProperties {
+
+    private boolean enabled;
+
+    /**
+     * Delivered and cancelled orders created longer ago than this are archived
+     */
+    private Duration minAge = Duration.ofDays(90);
+
+    /**
+     * Orders moved per transaction
+     */
+    private int batchSize = 500;
+
+    /**
+     * Upper bound on batches per run, so a large backlog is worked off over several runs
+     */
+    private int maxBatchesPerRun = 100;
+}
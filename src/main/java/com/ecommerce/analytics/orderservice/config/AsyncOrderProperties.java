@@ -0,0 +1,53 @@
+package com.ecommerce.analytics.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Asynchronous order creation (Prefer: respond-async), bound from orders.async-create.*
+ */
+@Data
+@ConfigurationProperties(prefix = "orders.async-create")
+public class AsyncOrderProperties {
+
+    private boolean enabled;
+
+    /**
+     * Accepted orders waiting for a writer; when full, requests are answered with 503
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Writer threads, each holding one connection while it writes a batch
+     */
+    private int workers = 2;
+
+    /**
+     * Orders written per transaction
+     */
+    private int batchSize = 100;
+
+    /**
+     * How long shutdown waits for the writers to empty the queue
+     */
+    private Duration drainTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Retry-After sent with 503 when the queue is full
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * How long after acceptance an order is still written; older ones are failed instead, and the status URL stops
+     * answering 202 for an order number it does not know, which is how an order lost in a crash ends.
+     * Well above the time a full queue takes to drain
+     */
+    private Duration abandonAfter = Duration.ofMinutes(10);
+
+    /**
+     * How long the status endpoint keeps reporting a failed write
+     */
+    private Duration failureRetention = Duration.ofHours(24);
+}
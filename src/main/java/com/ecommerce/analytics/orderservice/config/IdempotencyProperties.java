@@ -0,0 +1,24 @@
+package com.ecommerce.analytics.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Idempotent order creation, bound from orders.idempotency.*
+ */
+@Data
+@ConfigurationProperties(prefix = "orders.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Recently used keys kept in memory, least recently used keys are evicted first
+     */
+    private int cacheSize = 10_000;
+
+    /**
+     * Keys older than this are purged from idempotency_keys and are no longer deduplicated
+     */
+    private Duration retention = Duration.ofHours(24);
+}
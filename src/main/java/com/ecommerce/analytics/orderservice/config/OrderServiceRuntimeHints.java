@@ -0,0 +1,35 @@
+package com.ecommerce.analytics.orderservice.config;
+
+import com.ecommerce.analytics.orderservice.dto.ErrorResponse;
+import com.ecommerce.analytics.orderservice.dto.OrderAcceptedResponse;
+import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import com.ecommerce.analytics.orderservice.dto.OrderStatsResponse;
+import com.ecommerce.analytics.orderservice.repository.OrderStatusTotals;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Hints for what AOT processing cannot infer on its own when building a native image
+ * <p>
+ * OrderStatusTotals is only instantiated reflectively by Hibernate from a JPQL constructor expression,
+ * and the DDL scripts and CDDL schema are read as classpath resources rather than referenced from code
+ */
+public class OrderServiceRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+
+        hints.resources()
+                .registerPattern("db/postgresql/*.sql")
+                .registerPattern("schema/*.cddl");
+
+        hints.reflection().registerConstructor(OrderStatusTotals.class.getDeclaredConstructors()[0], ExecutableMode.INVOKE);
+
+        // Also written outside declared controller return types: cached idempotent responses, advice bodies
+        // and the ResponseEntity<?> bodies of the create and by-number endpoints
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                OrderResponse.class, OrderStatsResponse.class, ErrorResponse.class, OrderAcceptedResponse.class);
+    }
+}
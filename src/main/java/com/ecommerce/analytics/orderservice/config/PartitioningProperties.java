@@ -0,0 +1,29 @@
+package com.ecommerce.analytics.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Monthly partitioning of the orders table, bound from orders.partitioning.*
+ */
+@Data
+@ConfigurationProperties(prefix = "orders.partitioning")
+public class PartitioningProperties {
+
+    private boolean enabled;
+
+    /**
+     * Number of future monthly partitions kept ready beyond the current month
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * Partitions older than this many months are detached, 0 keeps every partition attached
+     */
+    private int detachAfterMonths;
+
+    /**
+     * Schema detached partitions are moved to, left in place when blank
+     */
+    private String archiveSchema;
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.analytics.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica configuration, bound from orders.datasource.replicas.*
+ */
+@Data
+@ConfigurationProperties(prefix = "orders.datasource.replicas")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    private int maximumPoolSize = 10;
+
+    private int minimumIdle = 2;
+
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Replicas lagging further behind the primary are ejected until they catch up
+     */
+    private Duration maxReplicationLag = Duration.ofSeconds(10);
+
+    /**
+     * Query returning the replication lag in seconds, skipped when blank (e.g. on H2)
+     */
+    private String lagQuery;
+
+    @Data
+    public static class Node {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+}
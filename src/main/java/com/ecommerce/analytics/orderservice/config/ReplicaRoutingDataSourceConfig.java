@@ -0,0 +1,90 @@
+package com.ecommerce.analytics.orderservice.config;
+
+import com.ecommerce.analytics.orderservice.datasource.ReplicaPoolDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to the replica pool and everything else to the primary
+ * <p>
+ * The lazy proxy only fetches a physical connection at the first statement, by which time
+ * {@code @Transactional(readOnly = true)} has marked the connection read-only
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "orders.datasource.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaRoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPoolDataSource replicaPoolDataSource(HikariDataSource primaryDataSource,
+                                                       ReplicaDataSourceProperties replicaProperties,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+
+        List<HikariDataSource> replicaPools = new ArrayList<>();
+
+        for (int i = 0; i < replicaProperties.getNodes().size(); i++) {
+            ReplicaDataSourceProperties.Node node = replicaProperties.getNodes().get(i);
+
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setJdbcUrl(node.getUrl());
+            pool.setUsername(node.getUsername());
+            pool.setPassword(node.getPassword());
+            pool.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+            pool.setMinimumIdle(replicaProperties.getMinimumIdle());
+            pool.setConnectionTimeout(replicaProperties.getConnectionTimeout().toMillis());
+            pool.setReadOnly(true);
+            // Start even when a replica is down, the health check keeps it ejected
+            pool.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+
+            replicaPools.add(pool);
+        }
+
+        ReplicaPoolDataSource replicaPool = new ReplicaPoolDataSource(replicaPools,
+                primaryDataSource,
+                replicaProperties.getHealthCheckInterval(),
+                replicaProperties.getMaxReplicationLag(),
+                replicaProperties.getLagQuery());
+
+        meterRegistry.ifAvailable(registry -> Gauge.builder("orders.datasource.replicas.healthy", replicaPool,
+                        ReplicaPoolDataSource::getHealthyReplicaCount)
+                .description("Replicas currently admitted for read-only transactions")
+                .register(registry));
+
+        return replicaPool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPoolDataSource replicaPoolDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaPoolDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.analytics.orderservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background maintenance jobs
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
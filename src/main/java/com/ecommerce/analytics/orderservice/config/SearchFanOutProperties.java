@@ -0,0 +1,24 @@
+package com.ecommerce.analytics.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Parallel per-status search, bound from orders.search.fan-out.*
+ */
+@Data
+@ConfigurationProperties(prefix = "orders.search.fan-out")
+public class SearchFanOutProperties {
+
+    private boolean enabled;
+
+    /**
+     * Worker threads, each holding at most one connection while its query runs
+     */
+    private int parallelism = 4;
+
+    /**
+     * Runs waiting for a worker; beyond this the requesting thread runs them itself
+     */
+    private int queueCapacity = 64;
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.analytics.orderservice.config;
+
+import com.ecommerce.analytics.orderservice.admission.AdmissionControlInterceptor;
+import com.ecommerce.analytics.orderservice.codec.OrderResponseListHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Spring MVC customizations for the order API
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+
+    /**
+     * The CBOR mapper is built from Boot's builder, so spring.jackson.* settings apply to both wire formats
+     */
+    @Autowired
+    public WebConfig(AdmissionControlInterceptor admissionControlInterceptor,
+                     ObjectMapper objectMapper,
+                     Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        this.admissionControlInterceptor = admissionControlInterceptor;
+        this.objectMapper = objectMapper;
+        this.cborMapper = jackson2ObjectMapperBuilder.factory(new CBORFactory()).build();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionControlInterceptor).addPathPatterns("/api/**");
+    }
+
+    /**
+     * Offer application/cbor next to JSON, and stream List&lt;OrderResponse&gt; bodies in either format with
+     * the hand-written writer instead of Jackson's bean serializer
+     * JSON stays first, so clients that do not ask for CBOR are unaffected
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+
+        MappingJackson2CborHttpMessageConverter cborConverter = new MappingJackson2CborHttpMessageConverter(cborMapper);
+
+        // Replace the default CBOR converter, whose mapper ignores spring.jackson.* and writes dates as arrays
+        boolean replaced = false;
+        for (ListIterator<HttpMessageConverter<?>> iterator = converters.listIterator(); iterator.hasNext(); ) {
+            if (iterator.next() instanceof MappingJackson2CborHttpMessageConverter) {
+                iterator.set(cborConverter);
+                replaced = true;
+            }
+        }
+        if (!replaced) {
+            converters.add(cborConverter);
+        }
+
+        // The writer always emits ISO date-times, so it stays out of the way if dates are configured as timestamps
+        if (objectMapper.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            return;
+        }
+
+        converters.add(0, new OrderResponseListHttpMessageConverter(objectMapper, MediaType.APPLICATION_JSON));
+        converters.add(1, new OrderResponseListHttpMessageConverter(cborMapper, MediaType.APPLICATION_CBOR));
+    }
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.analytics.orderservice.controller;
+
+import com.ecommerce.analytics.orderservice.admission.AdmissionClass;
+import com.ecommerce.analytics.orderservice.admission.EndpointClass;
+import com.ecommerce.analytics.orderservice.dto.CustomerSummaryResponse;
+import com.ecommerce.analytics.orderservice.service.CustomerAggregateService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for customer-level order aggregates
+ */
+@RestController
+@RequestMapping("/api/v1/customers")
+@CrossOrigin(origins = "*")
+@Validated
+public class CustomerController {
+
+    private final CustomerAggregateService customerAggregateService;
+
+    @Autowired
+    public CustomerController(CustomerAggregateService customerAggregateService) {
+        this.customerAggregateService = customerAggregateService;
+    }
+
+    /**
+     * Get the customers with the highest lifetime revenue, read from customer_aggregates
+     * GET /api/v1/customers/top?limit=10
+     */
+    @GetMapping("/top")
+    @AdmissionClass(EndpointClass.LOOKUP)
+    public ResponseEntity<List<CustomerSummaryResponse>> getTopCustomers(
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit
+    ) {
+        return ResponseEntity.ok(customerAggregateService.getTopCustomers(limit));
+    }
+}
@@ -1,19 +1,35 @@
 package com.ecommerce.analytics.orderservice.controller;
 
+import com.ecommerce.analytics.orderservice.admission.AdmissionClass;
+import com.ecommerce.analytics.orderservice.admission.EndpointClass;
+import com.ecommerce.analytics.orderservice.dto.OrderAcceptedResponse;
 import com.ecommerce.analytics.orderservice.dto.OrderRequest;
 import com.ecommerce.analytics.orderservice.dto.OrderResponse;
 import com.ecommerce.analytics.orderservice.dto.OrderSearchCriteria;
 import com.ecommerce.analytics.orderservice.dto.OrderStatsResponse;
+import com.ecommerce.analytics.orderservice.exception.OrderCreationFailedException;
+import com.ecommerce.analytics.orderservice.exception.OrderNotFoundException;
+import com.ecommerce.analytics.orderservice.service.AsyncOrderWriter;
 import com.ecommerce.analytics.orderservice.service.OrderService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * REST Controller for Order Management
@@ -28,21 +44,59 @@ import java.util.List;
 @Validated
 public class OrderController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String PREFER_HEADER = "Prefer";
+    public static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+    public static final String RESPOND_ASYNC = "respond-async";
+
+    private static final String QUEUED = "QUEUED";
+
+    // A merged search reads (page + 1) * size + 1 rows from each table, so its depth is capped
+    private static final long MAX_SEARCH_PAGE = 100;
+    private static final long MAX_SEARCH_PAGE_SIZE = 100;
+
+    // The properties OrderResponseMerger can order by
+    private static final String SEARCH_SORT_PROPERTIES =
+            "id|orderNumber|customerName|customerEmail|totalAmount|status|notes|createdAt|version";
+
     private final OrderService orderService;
+    private final AsyncOrderWriter asyncOrderWriter;
 
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, ObjectProvider<AsyncOrderWriter> asyncOrderWriter) {
         this.orderService = orderService;
+        this.asyncOrderWriter = asyncOrderWriter.getIfAvailable();
     }
 
     /**
-     * Create a new order
-     * POST /api/v1/orders
+     * Create a new order, at most once per Idempotency-Key when the header is sent
+     * POST /api/v1/orders/create-order
+     * With Prefer: respond-async and asynchronous creation enabled, the order is queued and answered with
+     * 202 and its status URL; requests with an Idempotency-Key are always created synchronously
      */
     @PostMapping("/create-order")
-    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody OrderRequest orderRequest) {
-        OrderResponse orderResponse = orderService.createOrder(orderRequest);
-        return ResponseEntity.status(HttpStatus.CREATED).body(orderResponse);
+    @AdmissionClass(EndpointClass.WRITE)
+    public ResponseEntity<?> createOrder(
+            @Valid @RequestBody OrderRequest orderRequest,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) @Size(max = 255) String idempotencyKey,
+            @RequestHeader(name = PREFER_HEADER, required = false) String prefer
+    ) {
+
+        boolean keyed = idempotencyKey != null && !idempotencyKey.isBlank();
+
+        if (asyncOrderWriter != null && !keyed && prefersAsync(prefer)) {
+            String orderNumber = asyncOrderWriter.accept(orderRequest);
+            URI statusUrl = statusUrl(orderNumber);
+            return ResponseEntity.accepted()
+                    .location(statusUrl)
+                    .header(PREFERENCE_APPLIED_HEADER, RESPOND_ASYNC)
+                    .body(new OrderAcceptedResponse(orderNumber, QUEUED, statusUrl.toString()));
+        }
+
+        OrderResponse orderResponse = keyed
+                ? orderService.createOrder(orderRequest, idempotencyKey)
+                : orderService.createOrder(orderRequest);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(eTag(orderResponse)).body(orderResponse);
     }
 
     /**
@@ -50,6 +104,7 @@ public class OrderController {
      * GET /api/v1/orders/getOrders?page=0&size=10&sort=createdAt,desc
      */
     @GetMapping("/getOrders")
+    @AdmissionClass(EndpointClass.SEARCH)
     public ResponseEntity<List<OrderResponse>> getOrders(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -63,11 +118,52 @@ public class OrderController {
     /**
      * Get order by ID
      * GET /api/v1/orders/{id}
+     * With If-None-Match, an unchanged order is answered with 304 from a version-only query
      */
     @GetMapping("/{id}")
-    public ResponseEntity<OrderResponse> getOrder(@PathVariable @Min(1) Long id) {
+    @AdmissionClass(EndpointClass.LOOKUP)
+    public ResponseEntity<OrderResponse> getOrder(
+            @PathVariable @Min(1) Long id,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+
+        if (ifNoneMatch != null) {
+            String currentETag = OrderETags.of(id, orderService.getOrderVersion(id));
+            if (OrderETags.noneMatchHit(ifNoneMatch, currentETag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+            }
+        }
+
         OrderResponse orderResponse = orderService.getOrderById(id);
-        return ResponseEntity.ok(orderResponse);
+        return ResponseEntity.ok().eTag(eTag(orderResponse)).body(orderResponse);
+    }
+
+    /**
+     * Get order by order number, the status URL of an order accepted for asynchronous creation
+     * GET /api/v1/orders/by-number/{orderNumber}
+     * Answers 202 while the order may still be queued on some instance and 500 once its write failed
+     */
+    @GetMapping("/by-number/{orderNumber}")
+    @AdmissionClass(EndpointClass.LOOKUP)
+    public ResponseEntity<?> getOrderByNumber(@PathVariable @Size(max = 255) String orderNumber) {
+
+        Optional<OrderResponse> order = orderService.findOrderByNumber(orderNumber);
+        if (order.isPresent()) {
+            return ResponseEntity.ok().eTag(eTag(order.get())).body(order.get());
+        }
+
+        if (asyncOrderWriter != null) {
+            if (asyncOrderWriter.hasFailed(orderNumber)) {
+                throw new OrderCreationFailedException("Order " + orderNumber + " could not be created, submit it again");
+            }
+            if (asyncOrderWriter.mayBeQueued(orderNumber)) {
+                return ResponseEntity.accepted()
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(new OrderAcceptedResponse(orderNumber, QUEUED, statusUrl(orderNumber).toString()));
+            }
+        }
+
+        throw new OrderNotFoundException("Order not found with order number: " + orderNumber);
     }
 
     /**
@@ -75,12 +171,14 @@ public class OrderController {
      * PUT /api/v1/orders/{id}
      */
     @PutMapping("/{id}")
+    @AdmissionClass(EndpointClass.WRITE)
     public ResponseEntity<OrderResponse> updateOrder(
             @PathVariable @Min(1) Long id,
-            @Valid @RequestBody OrderRequest orderRequest
+            @Valid @RequestBody OrderRequest orderRequest,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        OrderResponse orderResponse = orderService.updateOrder(id, orderRequest);
-        return ResponseEntity.ok(orderResponse);
+        OrderResponse orderResponse = orderService.updateOrder(id, orderRequest, expectedVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(eTag(orderResponse)).body(orderResponse);
     }
 
     /**
@@ -88,6 +186,7 @@ public class OrderController {
      * DELETE /api/v1/orders/{id}
      */
     @DeleteMapping("/{id}")
+    @AdmissionClass(EndpointClass.WRITE)
     public ResponseEntity<Void> deleteOrder(@PathVariable @Min(1) Long id) {
         orderService.deleteOrder(id);
         return ResponseEntity.ok().build();
@@ -98,15 +197,43 @@ public class OrderController {
      * GET /api/v1/orders/search?customerName=John&status=PENDING&minAmount=100
      */
     @GetMapping("/search")
+    @AdmissionClass(EndpointClass.SEARCH)
     public ResponseEntity<List<OrderResponse>> searchOrder(
             @Valid @RequestBody OrderSearchCriteria orderSearchCriteria,
+            @RequestParam(defaultValue = "0") @Min(0) @Max(MAX_SEARCH_PAGE) int page,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_SEARCH_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "createdAt") @Pattern(regexp = SEARCH_SORT_PROPERTIES) String sortBy,
+            @RequestParam(defaultValue = "desc") @Pattern(regexp = "(?i)asc|desc") String sortDirection
+    ) {
+
+        List<OrderResponse> orderResponses = orderService.searchOrders(orderSearchCriteria,
+                page,
+                size,
+                sortBy,
+                sortDirection).getContent();
+
+        return ResponseEntity.ok(orderResponses);
+    }
+
+    /**
+     * Get orders created within a time range
+     * GET /api/v1/orders/created?from=2025-01-01T00:00:00&to=2025-02-01T00:00:00&status=PENDING
+     */
+    @GetMapping("/created")
+    @AdmissionClass(EndpointClass.SEARCH)
+    public ResponseEntity<List<OrderResponse>> getOrdersCreatedBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String status,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDirection
     ) {
 
-        List<OrderResponse> orderResponses = orderService.searchOrders(orderSearchCriteria,
+        List<OrderResponse> orderResponses = orderService.getOrdersCreatedBetween(from,
+                to,
+                status,
                 page,
                 size,
                 sortBy,
@@ -116,13 +243,17 @@ public class OrderController {
     }
 
     /**
-     * Get order statistics
-     * GET /api/v1/orders/stats
+     * Get order statistics, exact or estimated from a sample with 95% intervals
+     * GET /api/v1/orders/stats?mode=approximate
      */
     @GetMapping("/stats")
-    public ResponseEntity<OrderStatsResponse> getOrderStats() {
+    @AdmissionClass(EndpointClass.STATS)
+    public ResponseEntity<OrderStatsResponse> getOrderStats(
+            @RequestParam(defaultValue = "exact") @Pattern(regexp = "(?i)exact|approximate") String mode) {
 
-        OrderStatsResponse orderStatsResponse = orderService.getOrderStatistics();
+        OrderStatsResponse orderStatsResponse = OrderStatsResponse.APPROXIMATE.equalsIgnoreCase(mode)
+                ? orderService.getApproximateOrderStatistics()
+                : orderService.getOrderStatistics();
         return ResponseEntity.ok(orderStatsResponse);
     }
 
@@ -130,12 +261,48 @@ public class OrderController {
      * Update order status
      */
     @PatchMapping("/{id}")
+    @AdmissionClass(EndpointClass.WRITE)
     public ResponseEntity<OrderResponse> updateOrderStatus(
             @PathVariable Long id,
-            @RequestParam String status
+            @RequestParam String status,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
 
-        OrderResponse orderResponse = orderService.updateOrderStatus(id, status);
-        return ResponseEntity.ok(orderResponse);
+        OrderResponse orderResponse = orderService.updateOrderStatus(id, status, expectedVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(eTag(orderResponse)).body(orderResponse);
+    }
+
+    /**
+     * Whether a Prefer header (RFC 7240) asks for respond-async, e.g. "respond-async, wait=5"
+     */
+    private static boolean prefersAsync(String prefer) {
+
+        if (prefer == null) {
+            return false;
+        }
+
+        for (String preference : prefer.split(",")) {
+            String token = preference.split("[;=]", 2)[0].trim();
+            if (RESPOND_ASYNC.equalsIgnoreCase(token)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static URI statusUrl(String orderNumber) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/orders/by-number/{orderNumber}")
+                .buildAndExpand(orderNumber)
+                .toUri();
+    }
+
+    private static String eTag(OrderResponse orderResponse) {
+        return OrderETags.of(orderResponse.getId(), orderResponse.getVersion());
+    }
+
+    private static Long expectedVersion(String ifMatch, Long id) {
+        return ifMatch != null ? OrderETags.expectedVersion(ifMatch, id) : null;
     }
 }
@@ -0,0 +1,64 @@
+package com.ecommerce.analytics.orderservice.controller;
+
+import com.ecommerce.analytics.orderservice.exception.OrderVersionMismatchException;
+
+/**
+ * Strong ETags of single orders, "id-version", and matching of If-None-Match / If-Match headers against them
+ */
+final class OrderETags {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private OrderETags() {
+    }
+
+    static String of(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Weak comparison, as required for If-None-Match
+     */
+    static boolean noneMatchHit(String ifNoneMatch, String etag) {
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith(WEAK_PREFIX)) {
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (ANY.equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Version named by the first strong ETag of this order in an If-Match header
+     *
+     * @return the version, or null for "*" (any current version)
+     * @throws OrderVersionMismatchException when no listed tag can match this order
+     */
+    static Long expectedVersion(String ifMatch, Long id) {
+
+        String prefix = "\"" + id + "-";
+
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (ANY.equals(tag)) {
+                return null;
+            }
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+                } catch (NumberFormatException ex) {
+                    // Not one of our tags, keep looking
+                }
+            }
+        }
+
+        throw new OrderVersionMismatchException("If-Match " + ifMatch + " does not name a version of order " + id);
+    }
+}
@@ -0,0 +1,153 @@
+package com.ecommerce.analytics.orderservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource spreading read-only connections across a pool of replicas
+ * Replicas failing the periodic health check, or lagging beyond the allowed replication lag,
+ * are ejected until they recover; with no healthy replica left connections come from the primary
+ */
+@Slf4j
+public class ReplicaPoolDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final List<Replica> replicas;
+    private final DataSource primary;
+    private final Duration maxReplicationLag;
+    private final String lagQuery;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaPoolDataSource(List<HikariDataSource> replicaPools,
+                                 DataSource primary,
+                                 Duration healthCheckInterval,
+                                 Duration maxReplicationLag,
+                                 String lagQuery) {
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.primary = primary;
+        this.maxReplicationLag = maxReplicationLag;
+        this.lagQuery = lagQuery;
+
+        checkHealth();
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.healthChecker.scheduleWithFixedDelay(this::checkHealth,
+                healthCheckInterval.toMillis(), healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        int size = replicas.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), Math.max(size, 1));
+
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException ex) {
+                eject(replica, "connection failed: " + ex.getMessage());
+            }
+        }
+
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured pool credentials");
+    }
+
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * Probe every replica, ejecting unreachable or lagging ones and re-admitting recovered ones
+     */
+    void checkHealth() {
+
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+
+                if (!connection.isValid(2)) {
+                    eject(replica, "connection invalid");
+                    continue;
+                }
+
+                Duration lag = replicationLag(connection);
+                if (lag.compareTo(maxReplicationLag) > 0) {
+                    eject(replica, "replication lag " + lag.toMillis() + " ms");
+                    continue;
+                }
+
+                if (!replica.healthy) {
+                    log.info("replica_admitted pool={}", replica.pool.getPoolName());
+                }
+                replica.healthy = true;
+
+            } catch (SQLException | RuntimeException ex) {
+                eject(replica, ex.getMessage());
+            }
+        }
+    }
+
+    private Duration replicationLag(Connection connection) throws SQLException {
+
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return Duration.ZERO;
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            // A NULL lag means the replica has not replayed anything yet, treat it as caught up
+            double seconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+            return Duration.ofMillis((long) (seconds * 1000));
+        }
+    }
+
+    private void eject(Replica replica, String reason) {
+        if (replica.healthy) {
+            log.warn("replica_ejected pool={} reason=\"{}\"", replica.pool.getPoolName(), reason);
+        }
+        replica.healthy = false;
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.analytics.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Bounds of an estimated statistic at the response's confidence level
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfidenceInterval {
+
+    private BigDecimal lower;
+    private BigDecimal upper;
+}
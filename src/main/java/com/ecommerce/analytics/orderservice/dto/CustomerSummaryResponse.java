@@ -0,0 +1,23 @@
+package com.ecommerce.analytics.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Lifetime totals of one customer
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSummaryResponse {
+
+    private String customerEmail;
+    private String customerName;
+    private long orderCount;
+    private BigDecimal lifetimeRevenue;
+    private LocalDateTime lastOrderAt;
+}
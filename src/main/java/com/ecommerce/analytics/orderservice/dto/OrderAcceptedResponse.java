@@ -0,0 +1,18 @@
+package com.ecommerce.analytics.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response for an order accepted for asynchronous creation
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderAcceptedResponse {
+
+    private String orderNumber;
+    private String status;
+    private String statusUrl;
+}
@@ -23,4 +23,9 @@ public class OrderResponse {
     private String status;
     private String notes;
     private LocalDateTime createdAt;
+
+    /**
+     * Optimistic-lock version of the order, also the basis of its ETag
+     */
+    private Long version;
 }
@@ -4,6 +4,8 @@ import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Search criteria for filtering orders
@@ -17,7 +19,23 @@ public class OrderSearchCriteria {
             message = "Status must be one of: PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED")
     private String status;
 
+    /**
+     * Match any of these statuses, combined with status when both are given
+     */
+    private List<@Pattern(regexp = "PENDING|CONFIRMED|SHIPPED|DELIVERED|CANCELLED",
+            message = "Status must be one of: PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED") String> statuses;
+
     private BigDecimal minAmount;
 
     private BigDecimal maxAmount;
+
+    /**
+     * Inclusive lower bound on createdAt
+     */
+    private LocalDateTime createdFrom;
+
+    /**
+     * Exclusive upper bound on createdAt
+     */
+    private LocalDateTime createdTo;
 }
@@ -1,19 +1,27 @@
 package com.ecommerce.analytics.orderservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 /**
  * Statistics response for orders
+ * In APPROXIMATE mode the values are estimates from a table sample, with their confidence
+ * intervals keyed by field name; the fields after mode are only filled, and serialized, in that mode
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderStatsResponse {
 
+    public static final String EXACT = "EXACT";
+    public static final String APPROXIMATE = "APPROXIMATE";
+
     private long totalOrders;
     private long pendingOrders;
     private long confirmedOrders;
@@ -22,4 +30,12 @@ public class OrderStatsResponse {
     private long cancelledOrders;
     private BigDecimal totalRevenue;
     private BigDecimal averageOrderValue;
+    private String mode = EXACT;
+    private Double samplingRate;
+    private Long sampleSize;
+    private Long distinctCustomers;
+    private BigDecimal medianOrderValue;
+    private BigDecimal p95OrderValue;
+    private Double confidenceLevel;
+    private Map<String, ConfidenceInterval> confidenceIntervals;
 }
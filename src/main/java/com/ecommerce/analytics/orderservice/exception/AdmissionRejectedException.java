@@ -0,0 +1,23 @@
+package com.ecommerce.analytics.orderservice.exception;
+
+import java.time.Duration;
+
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final String code;
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(String code, String message, Duration retryAfter) {
+        super(message);
+        this.code = code;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.analytics.orderservice.exception;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    private final String code;
+
+    public IdempotencyKeyConflictException(String code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
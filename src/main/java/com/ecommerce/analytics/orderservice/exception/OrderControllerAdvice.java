@@ -2,6 +2,8 @@ package com.ecommerce.analytics.orderservice.exception;
 
 import com.ecommerce.analytics.orderservice.controller.OrderController;
 import com.ecommerce.analytics.orderservice.dto.ErrorResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -47,4 +49,93 @@ public class OrderControllerAdvice {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handle an If-Match precondition that no longer holds
+     */
+    @ExceptionHandler(OrderVersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleOrderVersionMismatchException(OrderVersionMismatchException ex) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                "PRECONDITION_FAILED",
+                ex.getMessage(),
+                LocalDateTime.now(),
+                HttpStatus.PRECONDITION_FAILED.value(),
+                new HashMap<>()
+        );
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    /**
+     * Handle an update that lost the race against a concurrent update of the same order
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                "CONCURRENT_MODIFICATION",
+                "The order was modified concurrently, reload it and retry",
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                new HashMap<>()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handle an Idempotency-Key reused for a different order or still being processed
+     */
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyConflictException(IdempotencyKeyConflictException ex) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                ex.getCode(),
+                ex.getMessage(),
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                new HashMap<>()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handle an asynchronous order the queue has no room for
+     */
+    @ExceptionHandler(OrderQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleOrderQueueFullException(OrderQueueFullException ex) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                "ORDER_QUEUE_FULL",
+                ex.getMessage(),
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                new HashMap<>()
+        );
+
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handle the status of an asynchronous order whose write failed
+     */
+    @ExceptionHandler(OrderCreationFailedException.class)
+    public ResponseEntity<ErrorResponse> handleOrderCreationFailedException(OrderCreationFailedException ex) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                "ORDER_CREATION_FAILED",
+                ex.getMessage(),
+                LocalDateTime.now(),
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                new HashMap<>()
+        );
+
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+
 }
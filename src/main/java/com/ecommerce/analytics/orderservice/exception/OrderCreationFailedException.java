@@ -0,0 +1,7 @@
+package com.ecommerce.analytics.orderservice.exception;
+
+public class OrderCreationFailedException extends RuntimeException {
+    public OrderCreationFailedException(String message) {
+        super(message);
+    }
+}
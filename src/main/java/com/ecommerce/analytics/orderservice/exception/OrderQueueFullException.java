@@ -0,0 +1,17 @@
+package com.ecommerce.analytics.orderservice.exception;
+
+import java.time.Duration;
+
+public class OrderQueueFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public OrderQueueFullException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.analytics.orderservice.exception;
+
+public class OrderVersionMismatchException extends RuntimeException {
+    public OrderVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,203 @@
+package com.ecommerce.analytics.orderservice.metrics;
+
+import com.ecommerce.analytics.orderservice.dto.OrderSearchCriteria;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Times every OrderService method and every OrderRepository query
+ * Percentiles and histograms are configured per meter prefix in application.properties
+ */
+@Aspect
+@Component
+@Slf4j
+public class OrderMetricsAspect {
+
+    public static final String SERVICE_TIMER = "orders.service";
+    public static final String REPOSITORY_TIMER = "orders.repository";
+
+    private static final Set<String> KNOWN_STATUSES = Set.of("PENDING", "CONFIRMED", "SHIPPED", "DELIVERED", "CANCELLED");
+
+    private static final Set<String> KNOWN_SORT_PROPERTIES = Set.of("id", "orderNumber", "customerName", "customerEmail",
+            "totalAmount", "status", "createdAt", "version");
+
+    private final MeterRegistry meterRegistry;
+    private final DataSource dataSource;
+    private final Duration slowCallThreshold;
+
+    private volatile HikariPoolMXBean hikariPool;
+
+    @Autowired
+    public OrderMetricsAspect(MeterRegistry meterRegistry,
+                              DataSource dataSource,
+                              @Value("${orders.metrics.slow-call-threshold:500ms}") Duration slowCallThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.dataSource = dataSource;
+        this.slowCallThreshold = slowCallThreshold;
+    }
+
+    @Around("execution(public * com.ecommerce.analytics.orderservice.service.OrderService.*(..))")
+    public Object timeServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, joinPoint);
+    }
+
+    @Around("target(com.ecommerce.analytics.orderservice.repository.OrderRepository)")
+    public Object timeRepositoryQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, joinPoint);
+    }
+
+    private Object time(String timerName, ProceedingJoinPoint joinPoint) throws Throwable {
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            Tags tags = tagsFor(joinPoint).and("exception", exception);
+            long elapsedNanos = sample.stop(Timer.builder(timerName).tags(tags).register(meterRegistry));
+
+            if (elapsedNanos >= slowCallThreshold.toNanos()) {
+                logSlowCall(timerName, joinPoint, tags, elapsedNanos);
+            }
+        }
+    }
+
+    /**
+     * Build low-cardinality tags from the intercepted call: method, sort field, page size bucket and status filter
+     */
+    private Tags tagsFor(ProceedingJoinPoint joinPoint) {
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String[] parameterNames = signature.getParameterNames();
+        Object[] args = joinPoint.getArgs();
+
+        String sort = "none";
+        Integer pageSize = null;
+        String status = null;
+
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            String name = parameterNames != null ? parameterNames[i] : "";
+
+            if (arg instanceof Pageable pageable && pageable.isPaged()) {
+                pageSize = pageable.getPageSize();
+                if (pageable.getSort().isSorted()) {
+                    sort = pageable.getSort().stream()
+                            .map(order -> sortTag(order.getProperty()))
+                            .collect(Collectors.joining(","));
+                }
+            } else if (arg instanceof OrderSearchCriteria criteria) {
+                status = criteria.getStatus();
+            } else if ("sortBy".equals(name) && arg instanceof String sortBy) {
+                sort = sortTag(sortBy);
+            } else if ("size".equals(name) && arg instanceof Integer size) {
+                pageSize = size;
+            } else if ("status".equals(name) && arg instanceof String value) {
+                status = value;
+            }
+        }
+
+        return Tags.of(
+                "method", signature.getName(),
+                "sort", sort,
+                "page.size", pageSizeBucket(pageSize),
+                "status", statusTag(status));
+    }
+
+    private static String sortTag(String property) {
+        return KNOWN_SORT_PROPERTIES.contains(property) ? property : "other";
+    }
+
+    private static String pageSizeBucket(Integer pageSize) {
+        if (pageSize == null) {
+            return "none";
+        }
+        if (pageSize <= 10) {
+            return "le10";
+        }
+        if (pageSize <= 50) {
+            return "le50";
+        }
+        if (pageSize <= 100) {
+            return "le100";
+        }
+        if (pageSize <= 500) {
+            return "le500";
+        }
+        return "gt500";
+    }
+
+    private static String statusTag(String status) {
+        if (status == null || status.isBlank()) {
+            return "any";
+        }
+        return KNOWN_STATUSES.contains(status) ? status : "other";
+    }
+
+    private void logSlowCall(String timerName, ProceedingJoinPoint joinPoint, Tags tags, long elapsedNanos) {
+
+        HikariPoolMXBean pool = hikariPool();
+        String poolState = pool == null
+                ? "n/a"
+                : "active=" + pool.getActiveConnections() + " idle=" + pool.getIdleConnections()
+                + " waiting=" + pool.getThreadsAwaitingConnection();
+
+        // Argument types and sizes only, the values carry customer names and emails
+        log.warn("slow_call timer={} {} elapsed_ms={} args=[{}] hikari=[{}]",
+                timerName,
+                tags.stream().map(tag -> tag.getKey() + "=" + tag.getValue()).collect(Collectors.joining(" ")),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                Arrays.stream(joinPoint.getArgs()).map(OrderMetricsAspect::describe).collect(Collectors.joining(",")),
+                poolState);
+    }
+
+    private static String describe(Object arg) {
+        if (arg == null) {
+            return "null";
+        }
+        if (arg instanceof Collection<?> collection) {
+            return arg.getClass().getSimpleName() + "[" + collection.size() + "]";
+        }
+        return arg.getClass().getSimpleName();
+    }
+
+    private HikariPoolMXBean hikariPool() {
+
+        if (hikariPool == null) {
+            try {
+                if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                    hikariPool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+                }
+            } catch (SQLException ex) {
+                log.debug("DataSource is not backed by a Hikari pool", ex);
+            }
+        }
+
+        return hikariPool;
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.analytics.orderservice.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements executed while serving each request
+ * Records the orders.http.statements summary and, outside production, the X-Statement-Count header
+ */
+@Component
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-Statement-Count";
+    public static final String STATEMENTS_SUMMARY = "orders.http.statements";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean headerEnabled;
+
+    @Autowired
+    public StatementCountFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                                @Value("${orders.sql.statement-count-header:false}") boolean headerEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.headerEnabled = headerEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        StatementCounter counter = StatementCounter.begin();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementCounter.end();
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            meterRegistry.ifAvailable(registry -> DistributionSummary.builder(STATEMENTS_SUMMARY)
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .register(registry)
+                    .record(counter.getCount()));
+
+            // Bodies are covered by StatementCountResponseAdvice, this catches empty responses
+            if (headerEnabled && !response.isCommitted()) {
+                response.setHeader(STATEMENT_COUNT_HEADER, String.valueOf(counter.getCount()));
+            }
+        }
+    }
+}
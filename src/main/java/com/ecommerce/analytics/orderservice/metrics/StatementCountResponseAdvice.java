@@ -0,0 +1,45 @@
+package com.ecommerce.analytics.orderservice.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the X-Statement-Count header just before a response body is written,
+ * after all statements for the request have run
+ */
+@ControllerAdvice
+public class StatementCountResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final boolean headerEnabled;
+
+    public StatementCountResponseAdvice(@Value("${orders.sql.statement-count-header:false}") boolean headerEnabled) {
+        this.headerEnabled = headerEnabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return headerEnabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+
+        StatementCounter counter = StatementCounter.current();
+        if (counter != null) {
+            response.getHeaders().set(StatementCountFilter.STATEMENT_COUNT_HEADER, String.valueOf(counter.getCount()));
+        }
+
+        return body;
+    }
+}
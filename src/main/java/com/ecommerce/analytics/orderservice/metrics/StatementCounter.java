@@ -0,0 +1,66 @@
+package com.ecommerce.analytics.orderservice.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request SQL statement bookkeeping, bound to the request thread by {@link StatementCountFilter}
+ * and attached to worker threads running part of the request. Statements executed outside a request
+ * (schedulers, startup) are not counted
+ */
+public final class StatementCounter {
+
+    private static final ThreadLocal<StatementCounter> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private int count;
+
+    private StatementCounter() {
+    }
+
+    /**
+     * Start counting statements on the current thread
+     */
+    public static StatementCounter begin() {
+        StatementCounter counter = new StatementCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    /**
+     * Stop counting statements on the current thread
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Count statements of the current thread into a request's counter, or stop counting when null
+     */
+    public static void attach(StatementCounter counter) {
+        if (counter == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(counter);
+        }
+    }
+
+    /**
+     * Counter bound to the current thread, or null when no request is being counted
+     */
+    public static StatementCounter current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Record an executed statement and return how many times this exact SQL has run in the request
+     */
+    synchronized int record(String sql) {
+        count++;
+        return executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+}
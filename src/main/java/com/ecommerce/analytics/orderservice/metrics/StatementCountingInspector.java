@@ -0,0 +1,51 @@
+package com.ecommerce.analytics.orderservice.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hibernate StatementInspector that counts statements per request, flags repeated
+ * identical statements (N+1 candidates) and logs a random sample of statements
+ * Registered with Hibernate through {@link StatementInspectionConfig}
+ */
+@Component
+@Slf4j
+public class StatementCountingInspector implements StatementInspector {
+
+    private static final Logger SAMPLE_LOG = LoggerFactory.getLogger("orders.sql.sample");
+
+    private final int nPlusOneThreshold;
+    private final double sampleRate;
+
+    public StatementCountingInspector(@Value("${orders.sql.n-plus-one-threshold:5}") int nPlusOneThreshold,
+                                      @Value("${orders.sql.sample-rate:0.0}") double sampleRate) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+
+        StatementCounter counter = StatementCounter.current();
+
+        if (counter != null) {
+            int executions = counter.record(sql);
+            if (executions == nPlusOneThreshold) {
+                log.warn("possible_n_plus_one executions={} sql=\"{}\"", executions, sql);
+            }
+        }
+
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            SAMPLE_LOG.info("sql_sample request_statement={} sql=\"{}\"",
+                    counter != null ? counter.getCount() : -1, sql);
+        }
+
+        return sql;
+    }
+}
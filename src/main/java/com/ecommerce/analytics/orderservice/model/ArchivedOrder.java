@@ -0,0 +1,91 @@
+package com.ecommerce.analytics.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Final-state order moved out of the hot orders table by the archival job
+ * Keeps the original id, so lookups by id work unchanged after archival; implements Persistable so
+ * saving a freshly archived row is a plain insert rather than a merge that first selects by id
+ */
+@Entity
+@Table(name = "orders_archive",
+        indexes = {
+                @Index(name = "idx_archive_status_created_at", columnList = "status, created_at"),
+                @Index(name = "idx_archive_created_at", columnList = "created_at")
+        })
+@Data
+@NoArgsConstructor
+public class ArchivedOrder implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    @Column(name = "order_number", unique = true, nullable = false)
+    private String orderNumber;
+
+    @Column(nullable = false)
+    private String customerName;
+
+    @Column(nullable = false)
+    private String customerEmail;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity = true;
+
+    /**
+     * Copy an order into its archived form
+     */
+    public static ArchivedOrder from(Order order, LocalDateTime archivedAt) {
+
+        ArchivedOrder archivedOrder = new ArchivedOrder();
+        archivedOrder.setId(order.getId());
+        archivedOrder.setOrderNumber(order.getOrderNumber());
+        archivedOrder.setCustomerName(order.getCustomerName());
+        archivedOrder.setCustomerEmail(order.getCustomerEmail());
+        archivedOrder.setTotalAmount(order.getTotalAmount());
+        archivedOrder.setStatus(order.getStatus());
+        archivedOrder.setNotes(order.getNotes());
+        archivedOrder.setCreatedAt(order.getCreatedAt());
+        archivedOrder.setVersion(order.getVersion());
+        archivedOrder.setArchivedAt(archivedAt);
+        return archivedOrder;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecommerce.analytics.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order accepted for asynchronous creation whose write failed or was given up on
+ * Written by the writer that failed it, so every instance answers the status URL with the failure and it
+ * survives a restart of the accepting instance
+ */
+@Entity
+@Table(name = "async_order_failures",
+        indexes = @Index(name = "idx_async_order_failures_failed_at", columnList = "failed_at"))
+@Data
+@NoArgsConstructor
+public class AsyncOrderFailure implements Persistable<String> {
+
+    @Id
+    @Column(name = "order_number")
+    private String id;
+
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity = true;
+
+    public AsyncOrderFailure(String id, LocalDateTime failedAt) {
+        this.id = id;
+        this.failedAt = failedAt;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.analytics.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Per-customer totals over all orders of a customer email, active and archived
+ * Maintained by the order write paths with relative updates, so concurrent orders of one customer never lose an increment
+ */
+@Entity
+@Table(name = "customer_aggregates",
+        indexes = @Index(name = "idx_customer_aggregates_revenue", columnList = "lifetime_revenue DESC, customer_email"))
+@Data
+@NoArgsConstructor
+public class CustomerAggregate {
+
+    @Id
+    @Column(name = "customer_email")
+    private String id;
+
+    /**
+     * Name given on the customer's most recent order
+     */
+    @Column(name = "customer_name", nullable = false)
+    private String customerName;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "lifetime_revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal lifetimeRevenue;
+
+    /**
+     * Creation time of the latest order placed, kept when that order is later deleted
+     */
+    @Column(name = "last_order_at")
+    private LocalDateTime lastOrderAt;
+}
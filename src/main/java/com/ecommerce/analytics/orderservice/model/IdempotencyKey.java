@@ -0,0 +1,61 @@
+package com.ecommerce.analytics.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Client-supplied Idempotency-Key of a create-order request and the order it produced
+ * The key is the primary key, so a concurrent retry fails on insert instead of creating a second order
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        indexes = @Index(name = "idx_idempotency_created_at", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+public class IdempotencyKey implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    /**
+     * SHA-256 of the request payload, to reject a key reused for a different order
+     */
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity = true;
+
+    public IdempotencyKey(String id, Long orderId, String requestHash, LocalDateTime createdAt) {
+        this.id = id;
+        this.orderId = orderId;
+        this.requestHash = requestHash;
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
@@ -19,7 +19,7 @@ import java.time.LocalDateTime;
         uniqueConstraints = @UniqueConstraint(columnNames = "order_number"),
         indexes = {
                 @Index(name = "idx_customer_name", columnList = "customer_name"),
-                @Index(name = "idx_status", columnList = "status"),
+                @Index(name = "idx_status_created_at", columnList = "status, created_at"),
                 @Index(name = "idx_created_at", columnList = "created_at"),
                 @Index(name = "idx_customer_email", columnList = "customer_email")
         })
@@ -49,7 +49,11 @@ public class Order {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    /**
+     * Partition key of the orders table on PostgreSQL, never changes after insert
+     */
     @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Version
@@ -0,0 +1,220 @@
+package com.ecommerce.analytics.orderservice.partition;
+
+import com.ecommerce.analytics.orderservice.config.PartitioningProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Maintains monthly range partitions of the orders table on created_at
+ * <p>
+ * On PostgreSQL it creates the partitions for the coming months and detaches (optionally archiving)
+ * the oldest ones, see db/postgresql/orders-partitioned.sql for the table layout. A month's orders that
+ * landed in the default partition while maintenance was behind are moved into the new partition in the
+ * transaction that attaches it, since PostgreSQL refuses a partition whose rows the default already holds.
+ * Other databases, such as H2 in development, have a plain orders table: there the created_at range
+ * predicates of the time-bounded finders are served by idx_created_at instead of partition pruning and
+ * maintenance is skipped
+ */
+@Component
+@ConditionalOnProperty(prefix = "orders.partitioning", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(PartitioningProperties.class)
+@Slf4j
+public class OrderPartitionManager {
+
+    static final String TABLE = "orders";
+
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("uuuuMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PartitioningProperties partitioningProperties;
+
+    private volatile Boolean postgreSql;
+
+    @Autowired
+    public OrderPartitionManager(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 PartitioningProperties partitioningProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.partitioningProperties = partitioningProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    /**
+     * Create upcoming partitions and detach expired ones
+     */
+    @Scheduled(cron = "${orders.partitioning.maintenance-cron:0 0 2 * * *}")
+    public void maintainPartitions() {
+
+        if (!isPostgreSql()) {
+            log.info("partition_maintenance skipped=true reason=\"database has no declarative partitioning, created_at index used\"");
+            return;
+        }
+
+        YearMonth currentMonth = YearMonth.now();
+        Set<YearMonth> existing = listPartitionMonths();
+
+        for (int i = 0; i <= partitioningProperties.getMonthsAhead(); i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            if (!existing.contains(month)) {
+                createPartition(month);
+            }
+        }
+
+        for (YearMonth month : partitionsToDetach(existing, currentMonth, partitioningProperties.getDetachAfterMonths())) {
+            detachPartition(month);
+        }
+    }
+
+    /**
+     * Create the month's partition as a plain table, move the month's rows out of the default partition into it
+     * and attach it, all in one transaction
+     * The parent lock serializes instances running maintenance at the same time without blocking reads or writes;
+     * the default partition is locked so no row of the month can reach it between the move and the attach
+     */
+    private void createPartition(YearMonth month) {
+
+        String partition = partitionName(month);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+
+        Integer moved = transactionTemplate.execute(status -> {
+
+            jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN SHARE UPDATE EXCLUSIVE MODE");
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition))) {
+                return null;
+            }
+
+            Optional<String> defaultPartition = findDefaultPartition();
+            defaultPartition.ifPresent(table -> jdbcTemplate.execute("LOCK TABLE " + table + " IN ACCESS EXCLUSIVE MODE"));
+
+            jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+
+            int rows = defaultPartition
+                    .map(table -> jdbcTemplate.update("WITH moved AS (DELETE FROM " + table
+                            + " WHERE created_at >= ? AND created_at < ? RETURNING *) INSERT INTO " + partition
+                            + " SELECT * FROM moved", from.atStartOfDay(), to.atStartOfDay()))
+                    .orElse(0);
+
+            // The parent's primary key and indexes are built on the partition as it is attached
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition
+                    + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+
+            return rows;
+        });
+
+        if (moved != null) {
+            log.info("partition_created table={} partition={} moved_from_default={}", TABLE, partition, moved);
+        }
+    }
+
+    private void detachPartition(YearMonth month) {
+
+        String partition = partitionName(month);
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+
+        String archiveSchema = partitioningProperties.getArchiveSchema();
+        if (archiveSchema != null && !archiveSchema.isBlank()) {
+            jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+            jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + archiveSchema);
+        }
+
+        log.info("partition_detached table={} partition={} archive_schema={}", TABLE, partition, archiveSchema);
+    }
+
+    private Set<YearMonth> listPartitionMonths() {
+
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT child.relname
+                FROM pg_inherits inheritance
+                JOIN pg_class parent ON parent.oid = inheritance.inhparent
+                JOIN pg_class child ON child.oid = inheritance.inhrelid
+                WHERE parent.relname = ?
+                """, String.class, TABLE);
+
+        Set<YearMonth> months = new TreeSet<>();
+        partitions.forEach(partition -> partitionMonth(partition).ifPresent(months::add));
+        return months;
+    }
+
+    private Optional<String> findDefaultPartition() {
+
+        return jdbcTemplate.queryForList("""
+                SELECT child.relname
+                FROM pg_inherits inheritance
+                JOIN pg_class parent ON parent.oid = inheritance.inhparent
+                JOIN pg_class child ON child.oid = inheritance.inhrelid
+                WHERE parent.relname = ? AND pg_get_expr(child.relpartbound, child.oid) = 'DEFAULT'
+                """, String.class, TABLE).stream().findFirst();
+    }
+
+    private boolean isPostgreSql() {
+
+        if (postgreSql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            postgreSql = "PostgreSQL".equalsIgnoreCase(product);
+        }
+
+        return postgreSql;
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * Month covered by a partition, empty for the default partition or foreign tables
+     */
+    static Optional<YearMonth> partitionMonth(String partition) {
+
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+        } catch (DateTimeParseException ex) {
+            return Optional.empty();
+        }
+    }
+
+    static List<YearMonth> partitionsToDetach(Set<YearMonth> existing, YearMonth currentMonth, int detachAfterMonths) {
+
+        if (detachAfterMonths <= 0) {
+            return List.of();
+        }
+
+        YearMonth oldestKept = currentMonth.minusMonths(detachAfterMonths);
+
+        return existing.stream()
+                .filter(month -> month.isBefore(oldestKept))
+                .sorted()
+                .toList();
+    }
+}
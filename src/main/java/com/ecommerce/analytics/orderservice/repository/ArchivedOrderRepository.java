@@ -0,0 +1,26 @@
+package com.ecommerce.analytics.orderservice.repository;
+
+import com.ecommerce.analytics.orderservice.model.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long>, JpaSpecificationExecutor<ArchivedOrder> {
+
+    @Query("SELECT a.version FROM ArchivedOrder a WHERE a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    Optional<ArchivedOrder> findByOrderNumber(String orderNumber);
+
+    @Query("""
+            SELECT new com.ecommerce.analytics.orderservice.repository.OrderStatusTotals(a.status, COUNT(a), SUM(a.totalAmount))
+            FROM ArchivedOrder a
+            GROUP BY a.status
+            """)
+    List<OrderStatusTotals> totalsByStatus();
+}
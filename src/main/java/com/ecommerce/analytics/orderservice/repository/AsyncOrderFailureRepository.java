@@ -0,0 +1,17 @@
+package com.ecommerce.analytics.orderservice.repository;
+
+import com.ecommerce.analytics.orderservice.model.AsyncOrderFailure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+
+public interface AsyncOrderFailureRepository extends JpaRepository<AsyncOrderFailure, String> {
+
+    @Modifying
+    @Query("DELETE FROM AsyncOrderFailure f WHERE f.failedAt < :cutoff")
+    int deleteFailedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,68 @@
+package com.ecommerce.analytics.orderservice.repository;
+
+import com.ecommerce.analytics.orderservice.model.CustomerAggregate;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+public interface CustomerAggregateRepository extends JpaRepository<CustomerAggregate, String> {
+
+    /**
+     * Count new orders of a customer in place, the row lock taken by the update serializes concurrent orders of the customer
+     *
+     * @return 1, or 0 when the customer has no aggregate row yet
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE CustomerAggregate c
+            SET c.orderCount = c.orderCount + :orderCount,
+                c.lifetimeRevenue = c.lifetimeRevenue + :amount,
+                c.customerName = :customerName,
+                c.lastOrderAt = CASE WHEN c.lastOrderAt IS NULL OR c.lastOrderAt < :orderAt THEN :orderAt ELSE c.lastOrderAt END
+            WHERE c.id = :customerEmail
+            """)
+    int recordOrders(@Param("customerEmail") String customerEmail,
+                     @Param("customerName") String customerName,
+                     @Param("orderCount") long orderCount,
+                     @Param("amount") BigDecimal amount,
+                     @Param("orderAt") LocalDateTime orderAt);
+
+    /**
+     * Insert an empty aggregate unless one exists; a concurrent insert of the same customer waits for the other
+     * transaction instead of failing, so a customer's first orders can race without either being rejected
+     * (on PostgreSQL; H2 has no equivalent and reports such a race as a constraint violation)
+     */
+    @Modifying
+    @Query("""
+            INSERT INTO CustomerAggregate (id, customerName, orderCount, lifetimeRevenue)
+            VALUES (:customerEmail, :customerName, 0, 0)
+            ON CONFLICT (id) DO NOTHING
+            """)
+    int insertIfAbsent(@Param("customerEmail") String customerEmail, @Param("customerName") String customerName);
+
+    /**
+     * Apply a change in order count and revenue, for deleted orders and changed amounts
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE CustomerAggregate c
+            SET c.orderCount = c.orderCount + :orderCountDelta,
+                c.lifetimeRevenue = c.lifetimeRevenue + :revenueDelta
+            WHERE c.id = :customerEmail
+            """)
+    int adjust(@Param("customerEmail") String customerEmail,
+               @Param("orderCountDelta") long orderCountDelta,
+               @Param("revenueDelta") BigDecimal revenueDelta);
+
+    /**
+     * Highest lifetime revenue first, read in index order from idx_customer_aggregates_revenue
+     */
+    List<CustomerAggregate> findByOrderCountGreaterThanOrderByLifetimeRevenueDescIdAsc(long orderCount, Limit limit);
+}
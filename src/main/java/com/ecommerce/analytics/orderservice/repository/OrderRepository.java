@@ -9,10 +9,22 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 
 public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
 
+    /**
+     * Version only, answers conditional GETs without hydrating the entity
+     */
+    @Query("SELECT o.version FROM Order o WHERE o.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    Optional<Order> findByOrderNumber(String orderNumber);
+
     Slice<Order> findByCustomerName(String customerName, Pageable pageable);
 
     Slice<Order> findByCustomerNameContainingIgnoreCase(String customerName, Pageable pageable);
@@ -25,6 +37,21 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
 
     Slice<Order> findTopNByOrderByCreatedAtDesc(int limit, Pageable pageable);
 
+    /**
+     * Half-open range [from, to) on the partition key, so PostgreSQL prunes to the matching monthly partitions
+     */
+    Slice<Order> findByCreatedAtGreaterThanEqualAndCreatedAtLessThan(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    Slice<Order> findByStatusAndCreatedAtGreaterThanEqualAndCreatedAtLessThan(String status,
+                                                                              LocalDateTime from,
+                                                                              LocalDateTime to,
+                                                                              Pageable pageable);
+
+    /**
+     * Archival candidates: orders in one of the given statuses created before the cutoff
+     */
+    Slice<Order> findByStatusInAndCreatedAtBefore(Collection<String> statuses, LocalDateTime cutoff, Pageable pageable);
+
     long countByCustomerName(String customerName);
 
     long countByStatus(String status);
@@ -36,4 +63,11 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
             ORDER BY o.totalAmount DESC
             """)
     Slice<Order> findHighValueOrdersCustomer(@Param("amount") BigDecimal amount);
+
+    @Query("""
+            SELECT new com.ecommerce.analytics.orderservice.repository.OrderStatusTotals(o.status, COUNT(o), SUM(o.totalAmount))
+            FROM Order o
+            GROUP BY o.status
+            """)
+    List<OrderStatusTotals> totalsByStatus();
 }
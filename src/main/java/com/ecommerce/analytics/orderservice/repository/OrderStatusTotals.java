@@ -0,0 +1,9 @@
+package com.ecommerce.analytics.orderservice.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Order count and revenue of one status, as returned by the grouped totals queries
+ */
+public record OrderStatusTotals(String status, long orderCount, BigDecimal revenue) {
+}
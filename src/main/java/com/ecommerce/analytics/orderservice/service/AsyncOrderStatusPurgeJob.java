@@ -0,0 +1,42 @@
+package com.ecommerce.analytics.orderservice.service;
+
+import com.ecommerce.analytics.orderservice.config.AsyncOrderProperties;
+import com.ecommerce.analytics.orderservice.repository.AsyncOrderFailureRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Removes failed asynchronous orders past failure-retention, so the failure table stays small
+ */
+@Service
+@ConditionalOnProperty(prefix = "orders.async-create", name = "enabled", havingValue = "true")
+@Slf4j
+public class AsyncOrderStatusPurgeJob {
+
+    private final AsyncOrderFailureRepository asyncOrderFailureRepository;
+    private final AsyncOrderProperties asyncOrderProperties;
+
+    @Autowired
+    public AsyncOrderStatusPurgeJob(AsyncOrderFailureRepository asyncOrderFailureRepository,
+                                    AsyncOrderProperties asyncOrderProperties) {
+        this.asyncOrderFailureRepository = asyncOrderFailureRepository;
+        this.asyncOrderProperties = asyncOrderProperties;
+    }
+
+    @Scheduled(fixedDelayString = "${orders.async-create.purge-interval:PT1H}", initialDelayString = "${orders.async-create.purge-interval:PT1H}")
+    @Transactional
+    public int purge() {
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(asyncOrderProperties.getFailureRetention());
+        int purged = asyncOrderFailureRepository.deleteFailedBefore(cutoff);
+
+        log.info("async_order_failure_purge purged={} cutoff={}", purged, cutoff);
+        return purged;
+    }
+}
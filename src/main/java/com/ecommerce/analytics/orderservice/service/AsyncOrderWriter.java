@@ -0,0 +1,322 @@
+package com.ecommerce.analytics.orderservice.service;
+
+import com.ecommerce.analytics.orderservice.config.AsyncOrderProperties;
+import com.ecommerce.analytics.orderservice.dto.OrderRequest;
+import com.ecommerce.analytics.orderservice.exception.OrderQueueFullException;
+import com.ecommerce.analytics.orderservice.model.AsyncOrderFailure;
+import com.ecommerce.analytics.orderservice.repository.AsyncOrderFailureRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Accepts create-order requests into a bounded in-memory queue and writes them in batches
+ * <p>
+ * The queue is an ArrayBlockingQueue, a fixed ring buffer, so a burst beyond its capacity is refused
+ * with 503 instead of growing the heap. Each writer takes up to batch-size orders per transaction,
+ * paying one commit for the batch and one customer_aggregates update per customer in it, taken in email
+ * order so concurrent writers cannot deadlock on each other's customers. A batch that fails is retried
+ * one order at a time so a single bad order does not take the others down.
+ * <p>
+ * Accepting an order touches no database, the status URL is answered from what every instance can see: the
+ * order once written, a row in async_order_failures once its write failed, and in between 202 for an order
+ * number issued less than abandon-after ago. Orders older than that are failed instead of written, so the 202
+ * never turns into an order after the status URL gave up on it. The orders themselves live only in memory
+ * until written: shutdown stops intake, waits up to drain-timeout for the queue to empty and fails what is
+ * left; an order lost in a crash is answered with 404 once abandon-after has passed
+ */
+@Component
+@ConditionalOnProperty(prefix = "orders.async-create", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AsyncOrderProperties.class)
+@Slf4j
+public class AsyncOrderWriter implements SmartLifecycle {
+
+    public static final String ORDERS_COUNTER = "orders.async.create";
+
+    /**
+     * Time allowed for a batch started just before abandon-after to commit, and for clock skew between instances
+     */
+    private static final Duration WRITE_GRACE = Duration.ofMinutes(1);
+
+    record AcceptedOrder(String orderNumber, OrderRequest orderRequest) {
+    }
+
+    private final OrderService orderService;
+    private final AsyncOrderFailureRepository asyncOrderFailureRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncOrderProperties asyncOrderProperties;
+    private final BlockingQueue<AcceptedOrder> queue;
+    private final Set<String> unwritten = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean accepting;
+    private ExecutorService writers;
+
+    @Autowired
+    public AsyncOrderWriter(OrderService orderService,
+                            AsyncOrderFailureRepository asyncOrderFailureRepository,
+                            TransactionTemplate transactionTemplate,
+                            AsyncOrderProperties asyncOrderProperties,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.orderService = orderService;
+        this.asyncOrderFailureRepository = asyncOrderFailureRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.asyncOrderProperties = asyncOrderProperties;
+        this.queue = new ArrayBlockingQueue<>(asyncOrderProperties.getQueueCapacity());
+        this.meterRegistry = meterRegistry.getIfAvailable();
+
+        if (this.meterRegistry != null) {
+            Gauge.builder("orders.async.queue.size", queue, BlockingQueue::size)
+                    .description("Accepted orders waiting to be written")
+                    .register(this.meterRegistry);
+        }
+    }
+
+    /**
+     * Queue an order for creation
+     *
+     * @return the order number the order will be created with
+     * @throws OrderQueueFullException when the queue is full or the application is shutting down
+     */
+    public String accept(OrderRequest orderRequest) {
+
+        if (!accepting) {
+            count("rejected");
+            throw new OrderQueueFullException("Order intake is shutting down, retry shortly", asyncOrderProperties.getRetryAfter());
+        }
+
+        String orderNumber = OrderService.generateOrderNumber();
+        unwritten.add(orderNumber);
+
+        if (!queue.offer(new AcceptedOrder(orderNumber, orderRequest))) {
+            unwritten.remove(orderNumber);
+            count("rejected");
+            throw new OrderQueueFullException("Order queue is full, retry shortly", asyncOrderProperties.getRetryAfter());
+        }
+
+        count("accepted");
+        return orderNumber;
+    }
+
+    /**
+     * Whether writing the order failed, on any instance
+     */
+    public boolean hasFailed(String orderNumber) {
+        return asyncOrderFailureRepository.existsById(orderNumber);
+    }
+
+    /**
+     * Whether an order number that is neither written nor failed may still be waiting in the queue of some
+     * instance, because it was issued less than abandon-after ago
+     */
+    public boolean mayBeQueued(String orderNumber) {
+
+        Instant now = Instant.now();
+        return OrderService.orderNumberIssuedAt(orderNumber)
+                .filter(issuedAt -> issuedAt.isAfter(now.minus(asyncOrderProperties.getAbandonAfter()).minus(WRITE_GRACE)))
+                .filter(issuedAt -> issuedAt.isBefore(now.plus(WRITE_GRACE)))
+                .isPresent();
+    }
+
+    /**
+     * Accepted orders not yet written, queued or in a batch being written
+     */
+    int getUnwrittenCount() {
+        return unwritten.size();
+    }
+
+    @Override
+    public void start() {
+
+        writers = Executors.newFixedThreadPool(asyncOrderProperties.getWorkers(), new CustomizableThreadFactory("order-writer-"));
+        accepting = true;
+
+        for (int i = 0; i < asyncOrderProperties.getWorkers(); i++) {
+            writers.execute(this::drain);
+        }
+    }
+
+    @Override
+    public void stop() {
+
+        accepting = false;
+        writers.shutdown();
+
+        try {
+            if (!writers.awaitTermination(asyncOrderProperties.getDrainTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                writers.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            writers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        // Orders offered just as intake closed, after the writers saw an empty queue
+        if (!Thread.currentThread().isInterrupted() && writers.isTerminated()) {
+            writeRemaining();
+        }
+
+        List<AcceptedOrder> lost = new ArrayList<>();
+        queue.drainTo(lost);
+
+        if (!lost.isEmpty()) {
+            log.error("async_order_drain_incomplete lost={}", lost.size());
+            fail(lost);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writers != null && !writers.isShutdown();
+    }
+
+    /**
+     * Started before and stopped after the web server, so requests accepted before shutdown are still written
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+
+        int batchSize = asyncOrderProperties.getBatchSize();
+        List<AcceptedOrder> batch = new ArrayList<>(batchSize);
+
+        while (true) {
+
+            AcceptedOrder first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (first == null) {
+                if (!accepting) {
+                    return;
+                }
+                continue;
+            }
+
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeRemaining() {
+
+        List<AcceptedOrder> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+
+    private void write(List<AcceptedOrder> batch) {
+
+        Instant abandonBefore = Instant.now().minus(asyncOrderProperties.getAbandonAfter());
+        Map<Boolean, List<AcceptedOrder>> abandoned = batch.stream().collect(Collectors.partitioningBy(acceptedOrder ->
+                OrderService.orderNumberIssuedAt(acceptedOrder.orderNumber()).orElseThrow().isBefore(abandonBefore)));
+
+        if (!abandoned.get(true).isEmpty()) {
+            log.error("async_order_abandoned count={}", abandoned.get(true).size());
+            fail(abandoned.get(true));
+        }
+        if (!abandoned.get(false).isEmpty()) {
+            writeBatch(abandoned.get(false));
+        }
+    }
+
+    private void writeBatch(List<AcceptedOrder> batch) {
+
+        try {
+            Map<String, OrderRequest> orderRequests = new LinkedHashMap<>();
+            batch.forEach(acceptedOrder -> orderRequests.put(acceptedOrder.orderNumber(), acceptedOrder.orderRequest()));
+
+            transactionTemplate.executeWithoutResult(status -> orderService.createOrdersWithNumbers(orderRequests));
+        } catch (RuntimeException ex) {
+            if (batch.size() > 1) {
+                batch.forEach(acceptedOrder -> writeBatch(List.of(acceptedOrder)));
+                return;
+            }
+
+            log.error("async_order_failed order_number={}", batch.get(0).orderNumber(), ex);
+            fail(batch);
+            return;
+        }
+
+        batch.forEach(acceptedOrder -> unwritten.remove(acceptedOrder.orderNumber()));
+
+        if (meterRegistry != null) {
+            Counter.builder(ORDERS_COUNTER)
+                    .tag("outcome", "written")
+                    .register(meterRegistry)
+                    .increment(batch.size());
+        }
+    }
+
+    /**
+     * Record orders that will not be written; when that fails too, the status URL answers 404 for them once
+     * abandon-after has passed
+     */
+    private void fail(List<AcceptedOrder> orders) {
+
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            asyncOrderFailureRepository.saveAll(orders.stream()
+                    .map(acceptedOrder -> new AsyncOrderFailure(acceptedOrder.orderNumber(), now))
+                    .toList());
+        } catch (RuntimeException ex) {
+            log.error("async_order_failure_record_error count={}", orders.size(), ex);
+        }
+
+        orders.forEach(acceptedOrder -> unwritten.remove(acceptedOrder.orderNumber()));
+
+        if (meterRegistry != null) {
+            Counter.builder(ORDERS_COUNTER)
+                    .tag("outcome", "failed")
+                    .register(meterRegistry)
+                    .increment(orders.size());
+        }
+    }
+
+    private void count(String outcome) {
+        if (meterRegistry != null) {
+            Counter.builder(ORDERS_COUNTER)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecommerce.analytics.orderservice.service;
+
+import com.ecommerce.analytics.orderservice.dto.CustomerSummaryResponse;
+import com.ecommerce.analytics.orderservice.model.CustomerAggregate;
+import com.ecommerce.analytics.orderservice.model.Order;
+import com.ecommerce.analytics.orderservice.repository.CustomerAggregateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Keeps customer_aggregates in step with order writes and serves the customer rankings from it
+ * <p>
+ * The aggregate row is updated in the order's own transaction, so a rolled-back order never reaches it and
+ * every instance ranks from the same committed totals. The top customers are an ORDER BY ... LIMIT over the
+ * idx_customer_aggregates_revenue index, reading only the rows returned
+ */
+@Service
+public class CustomerAggregateService {
+
+    private final CustomerAggregateRepository customerAggregateRepository;
+
+    @Autowired
+    public CustomerAggregateService(CustomerAggregateRepository customerAggregateRepository) {
+        this.customerAggregateRepository = customerAggregateRepository;
+    }
+
+    /**
+     * Count a newly created order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderPlaced(Order order) {
+        record(order.getCustomerEmail(), new CustomerDelta(order));
+    }
+
+    /**
+     * Count a batch of newly created orders with one update per customer
+     * Customers are updated in email order, so concurrent batches take their row locks in the same order and
+     * wait for each other instead of deadlocking
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ordersPlaced(List<Order> orders) {
+
+        Map<String, CustomerDelta> deltas = new TreeMap<>();
+        orders.forEach(order -> deltas.merge(order.getCustomerEmail(), new CustomerDelta(order), CustomerDelta::plus));
+
+        deltas.forEach(this::record);
+    }
+
+    /**
+     * Move an updated order's amount, and the order itself when its customer email changed
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderChanged(String previousEmail, BigDecimal previousAmount, Order order) {
+
+        if (Objects.equals(previousEmail, order.getCustomerEmail())) {
+            BigDecimal revenueDelta = order.getTotalAmount().subtract(previousAmount);
+            if (revenueDelta.signum() != 0) {
+                customerAggregateRepository.adjust(previousEmail, 0, revenueDelta);
+            }
+            return;
+        }
+
+        customerAggregateRepository.adjust(previousEmail, -1, previousAmount.negate());
+        orderPlaced(order);
+    }
+
+    /**
+     * Stop counting a deleted order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderRemoved(Order order) {
+        customerAggregateRepository.adjust(order.getCustomerEmail(), -1, order.getTotalAmount().negate());
+    }
+
+    /**
+     * Customers with the highest lifetime revenue
+     */
+    @Transactional(readOnly = true)
+    public List<CustomerSummaryResponse> getTopCustomers(int limit) {
+        return customerAggregateRepository.findByOrderCountGreaterThanOrderByLifetimeRevenueDescIdAsc(0, Limit.of(limit))
+                .stream()
+                .map(CustomerAggregateService::convertToResponse)
+                .toList();
+    }
+
+    private void record(String customerEmail, CustomerDelta delta) {
+
+        if (customerAggregateRepository.recordOrders(customerEmail, delta.customerName(), delta.orderCount(), delta.revenue(), delta.lastOrderAt()) == 0) {
+            customerAggregateRepository.insertIfAbsent(customerEmail, delta.customerName());
+            customerAggregateRepository.recordOrders(customerEmail, delta.customerName(), delta.orderCount(), delta.revenue(), delta.lastOrderAt());
+        }
+    }
+
+    /**
+     * Orders of one customer summed, named as in the latest of them
+     */
+    private record CustomerDelta(String customerName, long orderCount, BigDecimal revenue, LocalDateTime lastOrderAt) {
+
+        CustomerDelta(Order order) {
+            this(order.getCustomerName(), 1, order.getTotalAmount(), order.getCreatedAt());
+        }
+
+        CustomerDelta plus(CustomerDelta other) {
+            CustomerDelta latest = other.lastOrderAt().isBefore(lastOrderAt) ? this : other;
+            return new CustomerDelta(latest.customerName(), orderCount + other.orderCount(), revenue.add(other.revenue()), latest.lastOrderAt());
+        }
+    }
+
+    private static CustomerSummaryResponse convertToResponse(CustomerAggregate aggregate) {
+        return new CustomerSummaryResponse(aggregate.getId(),
+                aggregate.getCustomerName(),
+                aggregate.getOrderCount(),
+                aggregate.getLifetimeRevenue(),
+                aggregate.getLastOrderAt());
+    }
+}
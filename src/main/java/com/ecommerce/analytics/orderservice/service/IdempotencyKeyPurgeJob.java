@@ -0,0 +1,40 @@
+package com.ecommerce.analytics.orderservice.service;
+
+import com.ecommerce.analytics.orderservice.config.IdempotencyProperties;
+import com.ecommerce.analytics.orderservice.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Removes Idempotency-Keys past their retention, so the key table stays small
+ */
+@Service
+@Slf4j
+public class IdempotencyKeyPurgeJob {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final IdempotencyProperties idempotencyProperties;
+
+    @Autowired
+    public IdempotencyKeyPurgeJob(IdempotencyKeyRepository idempotencyKeyRepository,
+                                  IdempotencyProperties idempotencyProperties) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.idempotencyProperties = idempotencyProperties;
+    }
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval:PT1H}", initialDelayString = "${orders.idempotency.purge-interval:PT1H}")
+    @Transactional
+    public int purgeExpiredKeys() {
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(idempotencyProperties.getRetention());
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(cutoff);
+
+        log.info("idempotency_key_purge purged={} cutoff={}", purged, cutoff);
+        return purged;
+    }
+}
@@ -0,0 +1,158 @@
+package com.ecommerce.analytics.orderservice.service;
+
+import com.ecommerce.analytics.orderservice.config.ArchivalProperties;
+import com.ecommerce.analytics.orderservice.model.ArchivedOrder;
+import com.ecommerce.analytics.orderservice.model.Order;
+import com.ecommerce.analytics.orderservice.repository.ArchivedOrderRepository;
+import com.ecommerce.analytics.orderservice.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Background job moving old delivered and cancelled orders from the hot orders table to orders_archive
+ * Each batch is copied and deleted in one transaction, so an order is always in exactly one of the tables.
+ * Rows are deleted by id and version in one statement per batch, so an order updated after the batch was read
+ * stays in orders and is archived with its new values by a later run. The statement returns the ids it deleted
+ * (RETURNING on PostgreSQL, OLD TABLE on H2), and only those are copied
+ */
+@Service
+@ConditionalOnProperty(prefix = "orders.archival", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ArchivalProperties.class)
+@Slf4j
+public class OrderArchivalService {
+
+    private static final Set<String> FINAL_STATUSES = Set.of("DELIVERED", "CANCELLED");
+
+    private static final String POSTGRESQL_DELETE_UNCHANGED = "DELETE FROM orders WHERE (id, version) IN (%s) RETURNING id";
+
+    private static final String H2_DELETE_UNCHANGED = "SELECT id FROM OLD TABLE (DELETE FROM orders WHERE (id, version) IN (%s))";
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchivalProperties archivalProperties;
+
+    private volatile Boolean postgreSql;
+
+    @Autowired
+    public OrderArchivalService(OrderRepository orderRepository,
+                                ArchivedOrderRepository archivedOrderRepository,
+                                TransactionTemplate transactionTemplate,
+                                JdbcTemplate jdbcTemplate,
+                                ArchivalProperties archivalProperties) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.archivalProperties = archivalProperties;
+    }
+
+    /**
+     * Archive final-state orders older than the configured age
+     *
+     * @return number of orders archived
+     */
+    @Scheduled(fixedDelayString = "${orders.archival.interval:PT1H}", initialDelayString = "${orders.archival.initial-delay:PT5M}")
+    public int archiveFinalStateOrders() {
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(archivalProperties.getMinAge());
+        int archived = 0;
+
+        for (int batch = 0; batch < archivalProperties.getMaxBatchesPerRun(); batch++) {
+
+            Integer moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            archived += moved != null ? moved : 0;
+
+            if (moved == null || moved < archivalProperties.getBatchSize()) {
+                break;
+            }
+        }
+
+        log.info("order_archival archived={} cutoff={}", archived, cutoff);
+        return archived;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+
+        List<Order> orders = orderRepository.findByStatusInAndCreatedAtBefore(FINAL_STATUSES,
+                cutoff,
+                PageRequest.of(0, archivalProperties.getBatchSize(), Sort.by("id"))).getContent();
+
+        return archive(orders);
+    }
+
+    /**
+     * Move orders read earlier in this transaction to the archive, skipping those whose version has since changed
+     *
+     * @return number of orders archived
+     */
+    int archive(List<Order> orders) {
+
+        if (orders.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> deleted = deleteUnchanged(orders);
+        List<Order> unchanged = orders.stream()
+                .filter(order -> deleted.contains(order.getId()))
+                .toList();
+
+        if (unchanged.size() < orders.size()) {
+            log.info("order_archival_skipped changed={}", orders.size() - unchanged.size());
+        }
+
+        LocalDateTime archivedAt = LocalDateTime.now();
+
+        archivedOrderRepository.saveAll(unchanged.stream()
+                .map(order -> ArchivedOrder.from(order, archivedAt))
+                .toList());
+
+        return unchanged.size();
+    }
+
+    /**
+     * Delete the orders still at the version that was read, in one statement
+     *
+     * @return ids of the deleted orders
+     */
+    private Set<Long> deleteUnchanged(List<Order> orders) {
+
+        String rows = String.join(", ", Collections.nCopies(orders.size(), "(?, ?)"));
+        String sql = (isPostgreSql() ? POSTGRESQL_DELETE_UNCHANGED : H2_DELETE_UNCHANGED).formatted(rows);
+
+        Object[] args = new Object[orders.size() * 2];
+        for (int i = 0; i < orders.size(); i++) {
+            args[2 * i] = orders.get(i).getId();
+            args[2 * i + 1] = orders.get(i).getVersion();
+        }
+
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Long.class, args));
+    }
+
+    private boolean isPostgreSql() {
+
+        if (postgreSql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            postgreSql = "PostgreSQL".equalsIgnoreCase(product);
+        }
+
+        return postgreSql;
+    }
+}
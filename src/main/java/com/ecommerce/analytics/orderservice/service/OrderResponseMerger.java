@@ -0,0 +1,114 @@
+package com.ecommerce.analytics.orderservice.service;
+
+import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of OrderResponse runs that are each already sorted by the requested Sort
+ * Each run must hold at least offset + size + 1 rows (or all of its rows) for the page to be exact
+ */
+final class OrderResponseMerger {
+
+    private OrderResponseMerger() {
+    }
+
+    /**
+     * Merge the runs and cut out the page described by the pageable
+     */
+    static Slice<OrderResponse> merge(List<List<OrderResponse>> runs, Pageable pageable) {
+
+        Comparator<OrderResponse> comparator = comparator(pageable.getSort());
+
+        PriorityQueue<RunCursor> heads = new PriorityQueue<>(Math.max(runs.size(), 1),
+                (left, right) -> comparator.compare(left.current(), right.current()));
+
+        for (List<OrderResponse> run : runs) {
+            if (!run.isEmpty()) {
+                heads.add(new RunCursor(run));
+            }
+        }
+
+        long toSkip = pageable.getOffset();
+        int size = pageable.getPageSize();
+        List<OrderResponse> content = new ArrayList<>(size);
+
+        while (!heads.isEmpty() && content.size() < size) {
+            RunCursor head = heads.poll();
+
+            if (toSkip > 0) {
+                toSkip--;
+            } else {
+                content.add(head.current());
+            }
+
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+
+        return new SliceImpl<>(content, pageable, !heads.isEmpty());
+    }
+
+    /**
+     * Number of rows each run must provide to merge the page exactly
+     */
+    static int window(Pageable pageable) {
+        return Math.toIntExact(pageable.getOffset() + pageable.getPageSize() + 1);
+    }
+
+    static Comparator<OrderResponse> comparator(Sort sort) {
+
+        Comparator<OrderResponse> comparator = null;
+
+        for (Sort.Order order : sort) {
+            Comparator<OrderResponse> next = comparatorFor(order.getProperty());
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+
+        return comparator != null ? comparator : Comparator.comparing(OrderResponse::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    private static Comparator<OrderResponse> comparatorFor(String property) {
+        return switch (property) {
+            case "id" -> Comparator.comparing(OrderResponse::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "orderNumber" -> Comparator.comparing(OrderResponse::getOrderNumber, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "customerName" -> Comparator.comparing(OrderResponse::getCustomerName, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "customerEmail" -> Comparator.comparing(OrderResponse::getCustomerEmail, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "totalAmount" -> Comparator.comparing(OrderResponse::getTotalAmount, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "status" -> Comparator.comparing(OrderResponse::getStatus, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "notes" -> Comparator.comparing(OrderResponse::getNotes, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "createdAt" -> Comparator.comparing(OrderResponse::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "version" -> Comparator.comparing(OrderResponse::getVersion, Comparator.nullsLast(Comparator.naturalOrder()));
+            default -> throw new IllegalArgumentException("Cannot merge orders sorted by: " + property);
+        };
+    }
+
+    private static final class RunCursor {
+
+        private final List<OrderResponse> run;
+        private int position;
+
+        private RunCursor(List<OrderResponse> run) {
+            this.run = run;
+        }
+
+        private OrderResponse current() {
+            return run.get(position);
+        }
+
+        private boolean advance() {
+            return ++position < run.size();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.ecommerce.analytics.orderservice.service;
+
+import com.ecommerce.analytics.orderservice.admission.AdmissionControlInterceptor;
+import com.ecommerce.analytics.orderservice.config.SearchFanOutProperties;
+import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import com.ecommerce.analytics.orderservice.metrics.StatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/**
+ * Runs the per-status queries of a multi-status search in parallel on a bounded pool
+ * The first run stays on the requesting thread, inside its transaction, so a search with n statuses
+ * holds at most n connections; the others each get their own read-only transaction on a worker.
+ * Every worker connection takes a further admission control slot, a run that gets none stays on the
+ * requesting thread, so fan-out never holds more connections than admission allows. When the queue is
+ * full the requesting thread runs the overflow itself instead of failing. Worker statements are counted
+ * in the request's StatementCounter
+ */
+@Component
+@ConditionalOnProperty(prefix = "orders.search.fan-out", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(SearchFanOutProperties.class)
+public class OrderSearchFanOut implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AdmissionControlInterceptor admissionControl;
+
+    @Autowired
+    public OrderSearchFanOut(SearchFanOutProperties searchFanOutProperties,
+                             PlatformTransactionManager transactionManager,
+                             ObjectProvider<AdmissionControlInterceptor> admissionControl,
+                             ObjectProvider<MeterRegistry> meterRegistry) {
+
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(searchFanOutProperties.getParallelism());
+        this.executor.setMaxPoolSize(searchFanOutProperties.getParallelism());
+        this.executor.setQueueCapacity(searchFanOutProperties.getQueueCapacity());
+        this.executor.setThreadNamePrefix("order-search-");
+        this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.initialize();
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.admissionControl = admissionControl.getIfAvailable();
+
+        meterRegistry.ifAvailable(registry -> new ExecutorServiceMetrics(executor.getThreadPoolExecutor(),
+                "orders.search.fanout", Tags.empty()).bindTo(registry));
+    }
+
+    /**
+     * Execute the runs and return their results in the same order
+     */
+    List<List<OrderResponse>> execute(List<Supplier<List<OrderResponse>>> runs) {
+
+        StatementCounter requestCounter = StatementCounter.current();
+
+        // null marks a run left to the requesting thread: the first one, and any without a free slot
+        List<CompletableFuture<List<OrderResponse>>> futures = new ArrayList<>(runs.size());
+        futures.add(null);
+
+        for (int i = 1; i < runs.size(); i++) {
+            Supplier<List<OrderResponse>> run = runs.get(i);
+
+            if (admissionControl != null && !admissionControl.tryAcquireAdditionalSlot()) {
+                futures.add(null);
+                continue;
+            }
+
+            futures.add(CompletableFuture
+                    .supplyAsync(() -> runOnWorker(run, requestCounter), executor)
+                    .whenComplete((result, ex) -> {
+                        if (admissionControl != null) {
+                            admissionControl.releaseAdditionalSlot();
+                        }
+                    }));
+        }
+
+        List<List<OrderResponse>> results = new ArrayList<>(runs.size());
+
+        try {
+            for (int i = 0; i < runs.size(); i++) {
+                CompletableFuture<List<OrderResponse>> future = futures.get(i);
+                results.add(future == null ? runs.get(i).get() : future.join());
+            }
+        } catch (CompletionException ex) {
+            cancel(futures);
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        } catch (RuntimeException ex) {
+            cancel(futures);
+            throw ex;
+        }
+
+        return results;
+    }
+
+    /**
+     * Run in its own read-only transaction, counting statements into the request's counter
+     * The previous counter is restored, since a full queue runs the task on the requesting thread itself
+     */
+    private List<OrderResponse> runOnWorker(Supplier<List<OrderResponse>> run, StatementCounter requestCounter) {
+
+        StatementCounter previous = StatementCounter.current();
+        StatementCounter.attach(requestCounter);
+
+        try {
+            return readOnlyTransaction.execute(status -> run.get());
+        } finally {
+            StatementCounter.attach(previous);
+        }
+    }
+
+    private static void cancel(List<CompletableFuture<List<OrderResponse>>> futures) {
+        futures.stream()
+                .filter(Objects::nonNull)
+                .forEach(future -> future.cancel(false));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
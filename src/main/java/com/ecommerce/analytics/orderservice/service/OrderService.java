@@ -4,22 +4,49 @@ import com.ecommerce.analytics.orderservice.dto.OrderRequest;
 import com.ecommerce.analytics.orderservice.dto.OrderResponse;
 import com.ecommerce.analytics.orderservice.dto.OrderSearchCriteria;
 import com.ecommerce.analytics.orderservice.dto.OrderStatsResponse;
+import com.ecommerce.analytics.orderservice.exception.IdempotencyKeyConflictException;
 import com.ecommerce.analytics.orderservice.exception.OrderNotFoundException;
+import com.ecommerce.analytics.orderservice.exception.OrderVersionMismatchException;
+import com.ecommerce.analytics.orderservice.model.ArchivedOrder;
+import com.ecommerce.analytics.orderservice.model.IdempotencyKey;
 import com.ecommerce.analytics.orderservice.model.Order;
+import com.ecommerce.analytics.orderservice.repository.ArchivedOrderRepository;
+import com.ecommerce.analytics.orderservice.repository.IdempotencyKeyRepository;
 import com.ecommerce.analytics.orderservice.repository.OrderRepository;
+import com.ecommerce.analytics.orderservice.repository.OrderStatusTotals;
 import com.ecommerce.analytics.orderservice.specification.OrderSpecification;
+import com.ecommerce.analytics.orderservice.stats.SampledOrderStatistics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Service layer for Order business logic
@@ -28,11 +55,36 @@ import java.util.UUID;
 @Transactional
 public class OrderService {
 
+    private static final Set<String> FINAL_STATUSES = Set.of("DELIVERED", "CANCELLED");
+
+    private static final int MAX_IDEMPOTENT_CREATE_ATTEMPTS = 3;
+
     private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final RecentIdempotencyKeys recentIdempotencyKeys;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerAggregateService customerAggregateService;
+    private final OrderSearchFanOut orderSearchFanOut;
+    private final SampledOrderStatistics sampledOrderStatistics;
 
     @Autowired
-    public OrderService(OrderRepository orderRepository) {
+    public OrderService(OrderRepository orderRepository,
+                        ArchivedOrderRepository archivedOrderRepository,
+                        IdempotencyKeyRepository idempotencyKeyRepository,
+                        RecentIdempotencyKeys recentIdempotencyKeys,
+                        TransactionTemplate transactionTemplate,
+                        CustomerAggregateService customerAggregateService,
+                        ObjectProvider<OrderSearchFanOut> orderSearchFanOut,
+                        SampledOrderStatistics sampledOrderStatistics) {
         this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.recentIdempotencyKeys = recentIdempotencyKeys;
+        this.transactionTemplate = transactionTemplate;
+        this.customerAggregateService = customerAggregateService;
+        this.orderSearchFanOut = orderSearchFanOut.getIfAvailable();
+        this.sampledOrderStatistics = sampledOrderStatistics;
     }
 
     /**
@@ -47,9 +99,69 @@ public class OrderService {
                 generateOrderNumber());
 
         Order savedOrder = orderRepository.save(order);
+        customerAggregateService.orderPlaced(savedOrder);
+
         return convertToResponse(savedOrder);
     }
 
+    /**
+     * Create orders accepted for asynchronous creation, keyed by the order numbers assigned when they were accepted
+     * All orders are inserted before customer_aggregates is touched, which then gets one update per customer
+     */
+    public void createOrdersWithNumbers(Map<String, OrderRequest> orderRequests) {
+
+        List<Order> orders = new ArrayList<>(orderRequests.size());
+        orderRequests.forEach((orderNumber, orderRequest) -> orders.add(new Order(orderRequest.getCustomerName(),
+                orderRequest.getCustomerEmail(),
+                orderRequest.getTotalAmount(),
+                orderRequest.getNotes(),
+                orderNumber)));
+
+        customerAggregateService.ordersPlaced(orderRepository.saveAll(orders));
+    }
+
+    /**
+     * Create a new order at most once per Idempotency-Key
+     * A retry is answered from the in-memory cache of recent keys, or from idempotency_keys once evicted;
+     * the key row is inserted with the order, so a key seen for the first time costs no lookup
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderResponse createOrder(OrderRequest orderRequest, String idempotencyKey) {
+
+        String requestHash = requestHash(orderRequest);
+
+        RecentIdempotencyKeys.Entry recent = recentIdempotencyKeys.get(idempotencyKey);
+        if (recent != null) {
+            verifySameRequest(idempotencyKey, recent.requestHash(), requestHash);
+            return recent.orderResponse();
+        }
+
+        OrderResponse orderResponse = null;
+        for (int attempt = 1; orderResponse == null; attempt++) {
+            boolean lastAttempt = attempt == MAX_IDEMPOTENT_CREATE_ATTEMPTS;
+            try {
+                orderResponse = transactionTemplate.execute(status -> {
+                    OrderResponse created = createOrder(orderRequest);
+                    // Everything else the order writes is flushed first, so a violation below is the key's primary key
+                    idempotencyKeyRepository.flush();
+                    try {
+                        idempotencyKeyRepository.saveAndFlush(
+                                new IdempotencyKey(idempotencyKey, created.getId(), requestHash, LocalDateTime.now()));
+                    } catch (DataIntegrityViolationException ex) {
+                        throw new IdempotencyKeyTakenException(ex);
+                    }
+                    return created;
+                });
+            } catch (IdempotencyKeyTakenException ex) {
+                // Key recorded by an earlier attempt no longer in the cache, or by a concurrent one; this order was rolled back
+                orderResponse = transactionTemplate.execute(status -> storedResponse(idempotencyKey, requestHash, lastAttempt));
+            }
+        }
+
+        recentIdempotencyKeys.put(idempotencyKey, requestHash, orderResponse);
+        return orderResponse;
+    }
+
     @Transactional(readOnly = true)
     public Slice<OrderResponse> getAllOrders(int page, int size, String sortBy, String sortDirection) {
 
@@ -61,29 +173,65 @@ public class OrderService {
         return orders.map(this::convertToResponse);
     }
 
+    /**
+     * Get order by id, falling back to the archive for archived final-state orders
+     */
     @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long id) {
 
-        Order order = orderRepository.findById(id)
+        return orderRepository.findById(id)
+                .map(this::convertToResponse)
+                .or(() -> archivedOrderRepository.findById(id).map(this::convertToResponse))
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + id));
+    }
+
+    /**
+     * Get order by order number, falling back to the archive
+     * Read on the primary, so an asynchronously created order is found as soon as its batch commits
+     */
+    public Optional<OrderResponse> findOrderByNumber(String orderNumber) {
 
-        return convertToResponse(order);
+        return orderRepository.findByOrderNumber(orderNumber)
+                .map(this::convertToResponse)
+                .or(() -> archivedOrderRepository.findByOrderNumber(orderNumber).map(this::convertToResponse));
+    }
+
+    /**
+     * Get the current version of an order, without loading the order itself
+     */
+    @Transactional(readOnly = true)
+    public Long getOrderVersion(Long id) {
+
+        return orderRepository.findVersionById(id)
+                .or(() -> archivedOrderRepository.findVersionById(id))
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + id));
     }
 
     /**
      * Update existing order
      */
     public OrderResponse updateOrder(Long id, OrderRequest orderRequest) {
+        return updateOrder(id, orderRequest, null);
+    }
 
-        Order existingOrder = orderRepository.findById(id)
-                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + id));
+    /**
+     * Update existing order if it is still at the expected version, unconditionally when expectedVersion is null
+     */
+    public OrderResponse updateOrder(Long id, OrderRequest orderRequest, Long expectedVersion) {
+
+        Order existingOrder = findActiveOrder(id, expectedVersion);
+
+        String previousEmail = existingOrder.getCustomerEmail();
+        BigDecimal previousAmount = existingOrder.getTotalAmount();
 
         existingOrder.setCustomerName(orderRequest.getCustomerName());
         existingOrder.setCustomerEmail(orderRequest.getCustomerEmail());
         existingOrder.setTotalAmount(orderRequest.getTotalAmount());
         existingOrder.setNotes(orderRequest.getNotes());
 
-        Order updatedOrder = orderRepository.save(existingOrder);
+        // Flushed here so the response carries the incremented version
+        Order updatedOrder = orderRepository.saveAndFlush(existingOrder);
+        customerAggregateService.orderChanged(previousEmail, previousAmount, updatedOrder);
 
         return convertToResponse(updatedOrder);
     }
@@ -93,11 +241,10 @@ public class OrderService {
      */
     public void deleteOrder(Long id) {
 
-        if (!orderRepository.existsById(id)) {
-            throw new OrderNotFoundException("Order not found with id: " + id);
-        }
+        Order order = orderRepository.findById(id).orElseThrow(() -> missingOrder(id));
 
-        orderRepository.deleteById(id);
+        orderRepository.delete(order);
+        customerAggregateService.orderRemoved(order);
     }
 
     /**
@@ -113,15 +260,55 @@ public class OrderService {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Specification<Order> orderSpecification = Specification.<Order>unrestricted()
-                .and(OrderSpecification.hasCustomerName(orderSearchCriteria.getCustomerName()))
-                .and(OrderSpecification.hasStatus(orderSearchCriteria.getStatus()))
-                .and(OrderSpecification.hasAmountBetween(orderSearchCriteria.getMinAmount(), orderSearchCriteria.getMaxAmount()))
-                .and(OrderSpecification.hasMinAmount(orderSearchCriteria.getMinAmount()));
+        Set<String> statuses = requestedStatuses(orderSearchCriteria);
+        int window = OrderResponseMerger.window(pageable);
+
+        if (orderSearchFanOut != null && statuses.size() > 1) {
+            // One index-range scan per status on (status, created_at), merged in memory,
+            // instead of one query sorting every row matching any of the statuses
+            List<Supplier<List<OrderResponse>>> runs = new ArrayList<>();
+            for (String status : statuses) {
+                Set<String> single = Set.of(status);
+                runs.add(() -> activeRun(orderSearchCriteria, single, sort, window));
+                if (FINAL_STATUSES.contains(status)) {
+                    runs.add(() -> archivedRun(orderSearchCriteria, single, sort, window));
+                }
+            }
+            return OrderResponseMerger.merge(orderSearchFanOut.execute(runs), pageable);
+        }
 
-        Slice<Order> orders = orderRepository.findAll(orderSpecification, pageable);
+        if (!statuses.isEmpty() && Collections.disjoint(statuses, FINAL_STATUSES)) {
+            // Only final-state orders are archived, active statuses live in the hot table alone
+            Slice<Order> orders = orderRepository.findAll(this.<Order>searchSpecification(orderSearchCriteria, statuses), pageable);
+            return orders.map(this::convertToResponse);
+        }
 
-        return orders.map(this::convertToResponse);
+        return OrderResponseMerger.merge(List.of(activeRun(orderSearchCriteria, statuses, sort, window),
+                archivedRun(orderSearchCriteria, statuses, sort, window)), pageable);
+    }
+
+    /**
+     * Top window rows of the hot table for the criteria and statuses, in sort order
+     */
+    private List<OrderResponse> activeRun(OrderSearchCriteria orderSearchCriteria, Set<String> statuses, Sort sort, int window) {
+
+        return orderRepository.findBy(this.<Order>searchSpecification(orderSearchCriteria, statuses),
+                        query -> query.sortBy(sort).limit(window).all())
+                .stream()
+                .map(this::convertToResponse)
+                .toList();
+    }
+
+    /**
+     * Top window rows of the archive for the criteria and statuses, in sort order
+     */
+    private List<OrderResponse> archivedRun(OrderSearchCriteria orderSearchCriteria, Set<String> statuses, Sort sort, int window) {
+
+        return archivedOrderRepository.findBy(this.<ArchivedOrder>searchSpecification(orderSearchCriteria, statuses),
+                        query -> query.sortBy(sort).limit(window).all())
+                .stream()
+                .map(this::convertToResponse)
+                .toList();
     }
 
     /**
@@ -161,43 +348,58 @@ public class OrderService {
     }
 
     /**
-     * Get order statistics
+     * Get orders created in [from, to), optionally filtered by status
+     * Bounded on the partition key so only the covering monthly partitions are scanned
      */
     @Transactional(readOnly = true)
-    public OrderStatsResponse getOrderStatistics() {
-
-        OrderStatsResponse orderStatsResponse = new OrderStatsResponse();
-
-        orderStatsResponse.setTotalOrders(orderRepository.count());
-        orderStatsResponse.setPendingOrders(orderRepository.countByStatus("PENDING"));
-        orderStatsResponse.setConfirmedOrders(orderRepository.countByStatus("CONFIRMED"));
-        orderStatsResponse.setShippedOrders(orderRepository.countByStatus("SHIPPED"));
-        orderStatsResponse.setDeliveredOrders(orderRepository.countByStatus("DELIVERED"));
-        orderStatsResponse.setCancelledOrders(orderRepository.countByStatus("CANCELLED"));
+    public Slice<OrderResponse> getOrdersCreatedBetween(LocalDateTime from,
+                                                        LocalDateTime to,
+                                                        String status,
+                                                        int page,
+                                                        int size,
+                                                        String sortBy,
+                                                        String sortDirection) {
 
-        BigDecimal totalRevenueCalc;
-        BigDecimal totalRevenueResult = BigDecimal.ZERO;
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
+        Pageable pageable = PageRequest.of(page, size, sort);
 
-        int startOffset = 0;
-        int endOffset = 50000;
+        Slice<Order> orders = (status == null || status.isBlank())
+                ? orderRepository.findByCreatedAtGreaterThanEqualAndCreatedAtLessThan(from, to, pageable)
+                : orderRepository.findByStatusAndCreatedAtGreaterThanEqualAndCreatedAtLessThan(status, from, to, pageable);
 
-        Slice<Order> orders;
+        return orders.map(this::convertToResponse);
+    }
 
-        do {
+    /**
+     * Get order statistics
+     */
+    @Transactional(readOnly = true)
+    public OrderStatsResponse getOrderStatistics() {
 
-            Pageable pageable = PageRequest.of(startOffset, endOffset);
-            orders = orderRepository.findAll(pageable);
+        OrderStatsResponse orderStatsResponse = new OrderStatsResponse();
 
-            totalRevenueCalc = orders.stream()
-                    .map(Order::getTotalAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // One grouped aggregate per table instead of a count per status plus a full scan for revenue
+        Map<String, Long> countsByStatus = new HashMap<>();
+        long totalOrders = 0;
+        BigDecimal totalRevenueResult = BigDecimal.ZERO;
 
-            totalRevenueResult = totalRevenueResult.add(totalRevenueCalc);
+        List<OrderStatusTotals> totals = new ArrayList<>(orderRepository.totalsByStatus());
+        totals.addAll(archivedOrderRepository.totalsByStatus());
 
-            startOffset += endOffset;
-            endOffset *= 2;
+        for (OrderStatusTotals statusTotals : totals) {
+            countsByStatus.merge(statusTotals.status(), statusTotals.orderCount(), Long::sum);
+            totalOrders += statusTotals.orderCount();
+            if (statusTotals.revenue() != null) {
+                totalRevenueResult = totalRevenueResult.add(statusTotals.revenue());
+            }
+        }
 
-        } while (orders.hasNext());
+        orderStatsResponse.setTotalOrders(totalOrders);
+        orderStatsResponse.setPendingOrders(countsByStatus.getOrDefault("PENDING", 0L));
+        orderStatsResponse.setConfirmedOrders(countsByStatus.getOrDefault("CONFIRMED", 0L));
+        orderStatsResponse.setShippedOrders(countsByStatus.getOrDefault("SHIPPED", 0L));
+        orderStatsResponse.setDeliveredOrders(countsByStatus.getOrDefault("DELIVERED", 0L));
+        orderStatsResponse.setCancelledOrders(countsByStatus.getOrDefault("CANCELLED", 0L));
 
         orderStatsResponse.setTotalRevenue(totalRevenueResult);
 
@@ -212,21 +414,154 @@ public class OrderService {
         return orderStatsResponse;
     }
 
+    /**
+     * Estimate order statistics from a sample of the order tables, and distinct customers from a sample of
+     * customer_aggregates
+     */
+    @Transactional(readOnly = true)
+    public OrderStatsResponse getApproximateOrderStatistics() {
+        return sampledOrderStatistics.estimate();
+    }
+
     /**
      * Update order status
      */
     public OrderResponse updateOrderStatus(Long id, String status) {
+        return updateOrderStatus(id, status, null);
+    }
 
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + id));
+    /**
+     * Update order status if the order is still at the expected version, unconditionally when expectedVersion is null
+     */
+    public OrderResponse updateOrderStatus(Long id, String status, Long expectedVersion) {
+
+        Order order = findActiveOrder(id, expectedVersion);
 
         order.setStatus(status);
 
-        Order updatedOrder = orderRepository.save(order);
+        Order updatedOrder = orderRepository.saveAndFlush(order);
 
         return convertToResponse(updatedOrder);
     }
 
+    /**
+     * Load an order from the hot table, rejecting archived orders which can no longer be modified
+     */
+    private Order findActiveOrder(Long id, Long expectedVersion) {
+
+        Order order = orderRepository.findById(id).orElseThrow(() -> missingOrder(id));
+
+        // A concurrent update committing after this check still fails on the @Version column
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new OrderVersionMismatchException("Order " + id + " is at version " + order.getVersion()
+                    + ", expected version " + expectedVersion);
+        }
+
+        return order;
+    }
+
+    private RuntimeException missingOrder(Long id) {
+
+        if (archivedOrderRepository.existsById(id)) {
+            return new IllegalStateException("Order " + id + " is archived and can no longer be modified");
+        }
+
+        return new OrderNotFoundException("Order not found with id: " + id);
+    }
+
+    /**
+     * Response of the order recorded under the key, null when the attempt holding the key rolled back
+     * and the create can be tried again
+     */
+    private OrderResponse storedResponse(String idempotencyKey, String requestHash, boolean lastAttempt) {
+
+        Optional<IdempotencyKey> stored = idempotencyKeyRepository.findById(idempotencyKey);
+
+        if (stored.isEmpty()) {
+            if (lastAttempt) {
+                throw new IdempotencyKeyConflictException("IDEMPOTENCY_KEY_IN_PROGRESS",
+                        "A request with Idempotency-Key " + idempotencyKey + " is already being processed");
+            }
+            return null;
+        }
+
+        verifySameRequest(idempotencyKey, stored.get().getRequestHash(), requestHash);
+        return getOrderById(stored.get().getOrderId());
+    }
+
+    /**
+     * The Idempotency-Key insert hit the key's primary key; rolls back the order created with it
+     */
+    private static final class IdempotencyKeyTakenException extends RuntimeException {
+
+        private IdempotencyKeyTakenException(DataIntegrityViolationException cause) {
+            super(cause);
+        }
+    }
+
+    private void verifySameRequest(String idempotencyKey, String storedHash, String requestHash) {
+
+        if (!storedHash.equals(requestHash)) {
+            throw new IdempotencyKeyConflictException("IDEMPOTENCY_KEY_MISMATCH",
+                    "Idempotency-Key " + idempotencyKey + " was already used for a different order");
+        }
+    }
+
+    private static String requestHash(OrderRequest orderRequest) {
+
+        String canonical = String.join("\u0000",
+                String.valueOf(orderRequest.getCustomerName()),
+                String.valueOf(orderRequest.getCustomerEmail()),
+                orderRequest.getTotalAmount() != null ? orderRequest.getTotalAmount().stripTrailingZeros().toPlainString() : "null",
+                String.valueOf(orderRequest.getNotes()));
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static Set<String> requestedStatuses(OrderSearchCriteria orderSearchCriteria) {
+
+        Set<String> statuses = new LinkedHashSet<>();
+
+        if (orderSearchCriteria.getStatus() != null && !orderSearchCriteria.getStatus().isBlank()) {
+            statuses.add(orderSearchCriteria.getStatus());
+        }
+        if (orderSearchCriteria.getStatuses() != null) {
+            orderSearchCriteria.getStatuses().stream()
+                    .filter(status -> status != null && !status.isBlank())
+                    .forEach(statuses::add);
+        }
+
+        return statuses;
+    }
+
+    private <T> Specification<T> searchSpecification(OrderSearchCriteria orderSearchCriteria, Set<String> statuses) {
+
+        return Specification.<T>unrestricted()
+                .and(OrderSpecification.hasCustomerName(orderSearchCriteria.getCustomerName()))
+                .and(OrderSpecification.hasStatusIn(statuses))
+                .and(OrderSpecification.hasAmountBetween(orderSearchCriteria.getMinAmount(), orderSearchCriteria.getMaxAmount()))
+                .and(OrderSpecification.hasMinAmount(orderSearchCriteria.getMinAmount()))
+                .and(OrderSpecification.createdFrom(orderSearchCriteria.getCreatedFrom()))
+                .and(OrderSpecification.createdBefore(orderSearchCriteria.getCreatedTo()));
+    }
+
+    private OrderResponse convertToResponse(ArchivedOrder archivedOrder) {
+        return new OrderResponse(archivedOrder.getId(),
+                archivedOrder.getOrderNumber(),
+                archivedOrder.getCustomerName(),
+                archivedOrder.getCustomerEmail(),
+                archivedOrder.getTotalAmount(),
+                archivedOrder.getStatus(),
+                archivedOrder.getNotes(),
+                archivedOrder.getCreatedAt(),
+                archivedOrder.getVersion());
+    }
+
     private OrderResponse convertToResponse(Order order) {
         return new OrderResponse(order.getId(),
                 order.getOrderNumber(),
@@ -235,10 +570,28 @@ public class OrderService {
                 order.getTotalAmount(),
                 order.getStatus(),
                 order.getNotes(),
-                order.getCreatedAt());
+                order.getCreatedAt(),
+                order.getVersion());
     }
 
-    private String generateOrderNumber() {
+    static String generateOrderNumber() {
         return "ORD-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 6);
     }
+
+    /**
+     * When an order number was generated, empty when it is not in the generated format
+     */
+    static Optional<Instant> orderNumberIssuedAt(String orderNumber) {
+
+        String[] parts = orderNumber.split("-");
+        if (parts.length != 3 || !parts[0].equals("ORD")) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Instant.ofEpochMilli(Long.parseLong(parts[1])));
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+    }
 }
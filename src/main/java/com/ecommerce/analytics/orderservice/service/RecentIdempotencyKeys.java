@@ -0,0 +1,53 @@
+package com.ecommerce.analytics.orderservice.service;
+
+import com.ecommerce.analytics.orderservice.config.IdempotencyProperties;
+import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of recently used Idempotency-Keys and the response each one produced
+ * Retries arriving shortly after the original request are answered from here without touching idempotency_keys
+ */
+@Component
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class RecentIdempotencyKeys {
+
+    record Entry(String requestHash, OrderResponse orderResponse) {
+    }
+
+    private final Map<String, Entry> entries;
+
+    @Autowired
+    public RecentIdempotencyKeys(IdempotencyProperties idempotencyProperties) {
+
+        int cacheSize = idempotencyProperties.getCacheSize();
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    synchronized Entry get(String idempotencyKey) {
+        return entries.get(idempotencyKey);
+    }
+
+    synchronized void put(String idempotencyKey, String requestHash, OrderResponse orderResponse) {
+        entries.put(idempotencyKey, new Entry(requestHash, orderResponse));
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+}
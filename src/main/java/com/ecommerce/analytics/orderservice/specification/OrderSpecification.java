@@ -1,12 +1,13 @@
 package com.ecommerce.analytics.orderservice.specification;
 
-import com.ecommerce.analytics.orderservice.model.Order;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 
 /**
- * Utility class for building JPA Specifications for Order entity
+ * Utility class for building JPA Specifications for the Order and ArchivedOrder entities
  * Provides reusable predicates for complex queries
  */
 public class OrderSpecification {
@@ -14,7 +15,7 @@ public class OrderSpecification {
     /**
      * Create specification for customer name search (case-insensitive, partial match)
      */
-    public static Specification<Order> hasCustomerName(String customerName) {
+    public static <T> Specification<T> hasCustomerName(String customerName) {
 
         return (root, query, criteriaBuilder) -> {
             if (customerName == null || customerName.trim().isEmpty()) {
@@ -31,7 +32,7 @@ public class OrderSpecification {
     /**
      * Create specification for exact status match
      */
-    public static Specification<Order> hasStatus(String status) {
+    public static <T> Specification<T> hasStatus(String status) {
 
         return (root, query, criteriaBuilder) -> {
             if (status == null || status.trim().isEmpty()) {
@@ -42,10 +43,28 @@ public class OrderSpecification {
         };
     }
 
+    /**
+     * Create specification for a match on any of the given statuses
+     */
+    public static <T> Specification<T> hasStatusIn(Collection<String> statuses) {
+
+        return (root, query, criteriaBuilder) -> {
+            if (statuses == null || statuses.isEmpty()) {
+                return null;
+            }
+
+            if (statuses.size() == 1) {
+                return criteriaBuilder.equal(root.get("status"), statuses.iterator().next());
+            }
+
+            return root.get("status").in(statuses);
+        };
+    }
+
     /**
      * Create specification for minimum amount filter
      */
-    public static Specification<Order> hasMinAmount(BigDecimal minAmount) {
+    public static <T> Specification<T> hasMinAmount(BigDecimal minAmount) {
 
         return (root, query, criteriaBuilder) -> {
             if (minAmount == null) {
@@ -59,7 +78,7 @@ public class OrderSpecification {
     /**
      * Create specification for amount range filter
      */
-    public static Specification<Order> hasAmountBetween(BigDecimal minAmount, BigDecimal maxAmount) {
+    public static <T> Specification<T> hasAmountBetween(BigDecimal minAmount, BigDecimal maxAmount) {
 
         return (root, query, criteriaBuilder) -> {
             if (minAmount == null || maxAmount == null) {
@@ -70,5 +89,33 @@ public class OrderSpecification {
         };
     }
 
+    /**
+     * Create specification for an inclusive lower bound on creation time
+     */
+    public static <T> Specification<T> createdFrom(LocalDateTime createdFrom) {
+
+        return (root, query, criteriaBuilder) -> {
+            if (createdFrom == null) {
+                return null;
+            }
+
+            return criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), createdFrom);
+        };
+    }
+
+    /**
+     * Create specification for an exclusive upper bound on creation time
+     */
+    public static <T> Specification<T> createdBefore(LocalDateTime createdTo) {
+
+        return (root, query, criteriaBuilder) -> {
+            if (createdTo == null) {
+                return null;
+            }
+
+            return criteriaBuilder.lessThan(root.get("createdAt"), createdTo);
+        };
+    }
+
 
 }
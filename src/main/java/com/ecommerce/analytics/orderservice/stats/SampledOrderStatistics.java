@@ -0,0 +1,344 @@
+package com.ecommerce.analytics.orderservice.stats;
+
+import com.ecommerce.analytics.orderservice.config.ApproximateStatsProperties;
+import com.ecommerce.analytics.orderservice.dto.ConfidenceInterval;
+import com.ecommerce.analytics.orderservice.dto.OrderStatsResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order statistics estimated from a random sample of orders and orders_archive, and the number of customers
+ * from a sample of customer_aggregates drawn the same way
+ * <p>
+ * The sampling rate is the target sample size over the database's own row estimate, so the cost stays flat
+ * as the tables grow. PostgreSQL samples whole pages (TABLESAMPLE SYSTEM), reading only that fraction of the
+ * table; H2 samples rows with RAND(). Both are Bernoulli designs over clusters (pages, or single rows on H2),
+ * so totals are Horvitz-Thompson estimates, sampled count / rate, with variances summed over the sampled
+ * clusters, which accounts for rows on one page being alike. Quantile intervals use Woodruff's method with
+ * the same cluster variance. Intervals are at 95% confidence
+ */
+@Component
+@EnableConfigurationProperties(ApproximateStatsProperties.class)
+public class SampledOrderStatistics {
+
+    public static final double CONFIDENCE_LEVEL = 0.95;
+
+    static final double Z = 1.959964;
+
+    private static final String[] STATUSES = {"PENDING", "CONFIRMED", "SHIPPED", "DELIVERED", "CANCELLED"};
+
+    private static final String POSTGRESQL_ROW_ESTIMATE = """
+            SELECT COALESCE(SUM(GREATEST(c.reltuples, 0)), 0)::bigint
+            FROM pg_class c
+            WHERE c.relkind <> 'p'
+              AND (c.oid IN ('orders'::regclass, 'orders_archive'::regclass)
+                   OR c.oid IN (SELECT i.inhrelid FROM pg_inherits i WHERE i.inhparent = 'orders'::regclass))
+            """;
+
+    private static final String H2_ROW_ESTIMATE = """
+            SELECT COALESCE(SUM(ROW_COUNT_ESTIMATE), 0)
+            FROM INFORMATION_SCHEMA.TABLES
+            WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_NAME IN ('ORDERS', 'ORDERS_ARCHIVE')
+            """;
+
+    // The cluster is the page: table oid in the high bits, block number from the ctid in the low bits
+    private static final String POSTGRESQL_SAMPLE = """
+            SELECT (o.tableoid::oid::bigint << 32) | (o.ctid::text::point)[0]::bigint, o.status, o.total_amount
+            FROM orders o TABLESAMPLE SYSTEM (?)
+            UNION ALL
+            SELECT (a.tableoid::oid::bigint << 32) | (a.ctid::text::point)[0]::bigint, a.status, a.total_amount
+            FROM orders_archive a TABLESAMPLE SYSTEM (?)
+            """;
+
+    private static final String POSTGRESQL_CUSTOMER_ESTIMATE = """
+            SELECT GREATEST(c.reltuples, 0)::bigint FROM pg_class c WHERE c.oid = 'customer_aggregates'::regclass
+            """;
+
+    private static final String H2_CUSTOMER_ESTIMATE = """
+            SELECT COALESCE(SUM(ROW_COUNT_ESTIMATE), 0)
+            FROM INFORMATION_SCHEMA.TABLES
+            WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_NAME = 'CUSTOMER_AGGREGATES'
+            """;
+
+    // A customer whose orders were all deleted keeps a row with order_count 0
+    private static final String POSTGRESQL_CUSTOMER_SAMPLE = """
+            SELECT (c.ctid::text::point)[0]::bigint
+            FROM customer_aggregates c TABLESAMPLE SYSTEM (?)
+            WHERE c.order_count > 0
+            """;
+
+    private static final String H2_CUSTOMER_SAMPLE = """
+            SELECT CAST(NULL AS BIGINT) FROM customer_aggregates WHERE RAND() < ? AND order_count > 0
+            """;
+
+    private static final String H2_SAMPLE = """
+            SELECT CAST(NULL AS BIGINT), status, total_amount FROM orders WHERE RAND() < ?
+            UNION ALL
+            SELECT CAST(NULL AS BIGINT), status, total_amount FROM orders_archive WHERE RAND() < ?
+            """;
+
+    record SampledOrder(long cluster, String status, BigDecimal totalAmount) {
+    }
+
+    private static final class Cluster {
+
+        private final Map<String, Long> ordersByStatus = new HashMap<>();
+        private long orders;
+        private double revenue;
+        private double belowQuantile;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApproximateStatsProperties approximateStatsProperties;
+
+    private volatile Boolean postgreSql;
+
+    @Autowired
+    public SampledOrderStatistics(JdbcTemplate jdbcTemplate, ApproximateStatsProperties approximateStatsProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.approximateStatsProperties = approximateStatsProperties;
+    }
+
+    /**
+     * Sample the order tables and estimate counts by status, revenue, average, median and p95 order value,
+     * then sample customer_aggregates and estimate the number of customers with at least one order
+     */
+    public OrderStatsResponse estimate() {
+
+        boolean onPostgreSql = isPostgreSql();
+
+        double samplingRate = samplingRate(onPostgreSql ? POSTGRESQL_ROW_ESTIMATE : H2_ROW_ESTIMATE);
+        long[] rowClusters = {0};
+
+        List<SampledOrder> sample = jdbcTemplate.query(onPostgreSql ? POSTGRESQL_SAMPLE : H2_SAMPLE,
+                (resultSet, rowNum) -> {
+                    long cluster = resultSet.getLong(1);
+                    // Row sampling: every row is a cluster of its own
+                    if (resultSet.wasNull()) {
+                        cluster = --rowClusters[0];
+                    }
+                    return new SampledOrder(cluster, resultSet.getString(2), resultSet.getBigDecimal(3));
+                },
+                argument(samplingRate, onPostgreSql), argument(samplingRate, onPostgreSql));
+
+        OrderStatsResponse response = estimate(sample, samplingRate);
+
+        double customerSamplingRate = samplingRate(onPostgreSql ? POSTGRESQL_CUSTOMER_ESTIMATE : H2_CUSTOMER_ESTIMATE);
+        List<Long> customerClusters = jdbcTemplate.query(onPostgreSql ? POSTGRESQL_CUSTOMER_SAMPLE : H2_CUSTOMER_SAMPLE,
+                (resultSet, rowNum) -> {
+                    long cluster = resultSet.getLong(1);
+                    return resultSet.wasNull() ? --rowClusters[0] : cluster;
+                },
+                argument(customerSamplingRate, onPostgreSql));
+
+        estimateCustomers(response, customerClusters, customerSamplingRate);
+        return response;
+    }
+
+    /**
+     * Estimate the number of customers from the clusters of the customer rows sampled at the given rate,
+     * with the same Horvitz-Thompson estimate and cluster variance as the order counts
+     */
+    static void estimateCustomers(OrderStatsResponse response, List<Long> customerClusters, double samplingRate) {
+
+        double p = samplingRate;
+        int n = customerClusters.size();
+
+        Map<Long, Long> customersByCluster = new HashMap<>();
+        customerClusters.forEach(cluster -> customersByCluster.merge(cluster, 1L, Long::sum));
+
+        double variance = (1 - p) / (p * p) * customersByCluster.values().stream()
+                .mapToDouble(customers -> (double) customers * customers)
+                .sum();
+
+        response.setDistinctCustomers(Math.round(n / p));
+        response.getConfidenceIntervals().put("distinctCustomers", countInterval(n / p, variance, n));
+    }
+
+    /**
+     * The target sample size over the database's row estimate for the sampled tables, at most 1
+     */
+    private double samplingRate(String rowEstimateQuery) {
+
+        Long estimatedRows = jdbcTemplate.queryForObject(rowEstimateQuery, Long.class);
+        long targetSampleSize = approximateStatsProperties.getTargetSampleSize();
+
+        return estimatedRows == null || estimatedRows <= targetSampleSize
+                ? 1.0
+                : (double) targetSampleSize / estimatedRows;
+    }
+
+    /**
+     * TABLESAMPLE takes a percentage, RAND() < rate a probability
+     */
+    private static double argument(double samplingRate, boolean onPostgreSql) {
+        return onPostgreSql ? samplingRate * 100 : samplingRate;
+    }
+
+    /**
+     * Estimates and 95% intervals from a Bernoulli cluster sample drawn at the given rate
+     */
+    static OrderStatsResponse estimate(List<SampledOrder> sample, double samplingRate) {
+
+        double p = samplingRate;
+        int n = sample.size();
+
+        Map<Long, Cluster> clusters = new HashMap<>();
+        Map<String, Long> sampledByStatus = new HashMap<>();
+        BigDecimal sampledRevenue = BigDecimal.ZERO;
+        List<BigDecimal> amounts = new ArrayList<>(n);
+
+        for (SampledOrder order : sample) {
+            Cluster cluster = clusters.computeIfAbsent(order.cluster(), key -> new Cluster());
+            cluster.orders++;
+            cluster.revenue += order.totalAmount().doubleValue();
+            cluster.ordersByStatus.merge(order.status(), 1L, Long::sum);
+            sampledByStatus.merge(order.status(), 1L, Long::sum);
+            sampledRevenue = sampledRevenue.add(order.totalAmount());
+            amounts.add(order.totalAmount());
+        }
+
+        // Horvitz-Thompson: a cluster total y_c sampled with probability p contributes y_c / p,
+        // and the variance of the estimated total is (1 - p) / p^2 * sum of y_c^2
+        double totalFactor = (1 - p) / (p * p);
+        Map<String, ConfidenceInterval> intervals = new LinkedHashMap<>();
+
+        OrderStatsResponse response = new OrderStatsResponse();
+        response.setMode(OrderStatsResponse.APPROXIMATE);
+        response.setSamplingRate(p);
+        response.setSampleSize((long) n);
+        response.setConfidenceLevel(CONFIDENCE_LEVEL);
+        response.setConfidenceIntervals(intervals);
+
+        double orderVariance = totalFactor * clusters.values().stream().mapToDouble(c -> (double) c.orders * c.orders).sum();
+        response.setTotalOrders(Math.round(n / p));
+        intervals.put("totalOrders", countInterval(n / p, orderVariance, n));
+
+        for (String status : STATUSES) {
+            long sampled = sampledByStatus.getOrDefault(status, 0L);
+            double variance = totalFactor * clusters.values().stream()
+                    .mapToDouble(c -> {
+                        long orders = c.ordersByStatus.getOrDefault(status, 0L);
+                        return (double) orders * orders;
+                    })
+                    .sum();
+            long estimate = Math.round(sampled / p);
+            setStatusCount(response, status, estimate);
+            intervals.put(status.toLowerCase() + "Orders", countInterval(sampled / p, variance, sampled));
+        }
+
+        double revenue = sampledRevenue.doubleValue() / p;
+        double revenueVariance = totalFactor * clusters.values().stream().mapToDouble(c -> c.revenue * c.revenue).sum();
+        response.setTotalRevenue(money(revenue));
+        intervals.put("totalRevenue", interval(revenue, revenueVariance, sampledRevenue.doubleValue()));
+
+        if (n == 0) {
+            response.setAverageOrderValue(BigDecimal.ZERO);
+            return response;
+        }
+
+        // Ratio estimator revenue / orders, linearized: (1 - p) / n^2 * sum of (r_c - average * n_c)^2
+        double average = sampledRevenue.doubleValue() / n;
+        double averageVariance = (1 - p) / ((double) n * n) * clusters.values().stream()
+                .mapToDouble(c -> {
+                    double residual = c.revenue - average * c.orders;
+                    return residual * residual;
+                })
+                .sum();
+        response.setAverageOrderValue(money(average));
+        intervals.put("averageOrderValue", interval(average, averageVariance, 0));
+
+        amounts.sort(null);
+        response.setMedianOrderValue(quantile(amounts, 0.5));
+        intervals.put("medianOrderValue", quantileInterval(sample, clusters, amounts, 0.5, p));
+        response.setP95OrderValue(quantile(amounts, 0.95));
+        intervals.put("p95OrderValue", quantileInterval(sample, clusters, amounts, 0.95, p));
+
+        return response;
+    }
+
+    /**
+     * Woodruff interval: the sample quantiles at q -+ z * SE(F(x_q)), the standard error of the share of orders
+     * at or below the estimated quantile, again summed over clusters
+     */
+    private static ConfidenceInterval quantileInterval(List<SampledOrder> sample,
+                                                       Map<Long, Cluster> clusters,
+                                                       List<BigDecimal> sortedAmounts,
+                                                       double q,
+                                                       double p) {
+
+        BigDecimal estimate = quantile(sortedAmounts, q);
+        clusters.values().forEach(cluster -> cluster.belowQuantile = 0);
+
+        for (SampledOrder order : sample) {
+            clusters.get(order.cluster()).belowQuantile += (order.totalAmount().compareTo(estimate) <= 0 ? 1 : 0) - q;
+        }
+
+        int n = sortedAmounts.size();
+        double standardError = Math.sqrt((1 - p) * clusters.values().stream()
+                .mapToDouble(cluster -> cluster.belowQuantile * cluster.belowQuantile)
+                .sum()) / n;
+
+        return new ConfidenceInterval(quantile(sortedAmounts, Math.max(0, q - Z * standardError)),
+                quantile(sortedAmounts, Math.min(1, q + Z * standardError)));
+    }
+
+    /**
+     * Nearest-rank quantile of a sorted list
+     */
+    private static BigDecimal quantile(List<BigDecimal> sortedAmounts, double q) {
+        int rank = (int) Math.ceil(q * sortedAmounts.size()) - 1;
+        return sortedAmounts.get(Math.max(0, Math.min(rank, sortedAmounts.size() - 1)));
+    }
+
+    /**
+     * Count interval, never below the orders actually seen in the sample
+     */
+    private static ConfidenceInterval countInterval(double estimate, double variance, long sampled) {
+        double margin = Z * Math.sqrt(variance);
+        return new ConfidenceInterval(BigDecimal.valueOf(Math.max(sampled, (long) Math.floor(estimate - margin))),
+                BigDecimal.valueOf((long) Math.ceil(estimate + margin)));
+    }
+
+    private static ConfidenceInterval interval(double estimate, double variance, double floor) {
+        double margin = Z * Math.sqrt(variance);
+        return new ConfidenceInterval(money(Math.max(floor, estimate - margin)), money(estimate + margin));
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static void setStatusCount(OrderStatsResponse response, String status, long count) {
+        switch (status) {
+            case "PENDING" -> response.setPendingOrders(count);
+            case "CONFIRMED" -> response.setConfirmedOrders(count);
+            case "SHIPPED" -> response.setShippedOrders(count);
+            case "DELIVERED" -> response.setDeliveredOrders(count);
+            case "CANCELLED" -> response.setCancelledOrders(count);
+            default -> throw new IllegalArgumentException("Unknown status " + status);
+        }
+    }
+
+    private boolean isPostgreSql() {
+
+        if (postgreSql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            postgreSql = "PostgreSQL".equalsIgnoreCase(product);
+        }
+
+        return postgreSql;
+    }
+}
@@ -0,0 +1,9 @@
+-- Orders accepted with Prefer: respond-async whose write failed, for the status URL
+-- Rows older than orders.async-create.failure-retention are purged by AsyncOrderStatusPurgeJob
+
+CREATE TABLE async_order_failures (
+    order_number VARCHAR(255) PRIMARY KEY,
+    failed_at    TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_async_order_failures_failed_at ON async_order_failures (failed_at);
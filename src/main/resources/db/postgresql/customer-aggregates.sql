@@ -0,0 +1,25 @@
+-- Per-customer order totals behind /api/v1/customers/top, maintained by the order write paths
+-- The backfill counts active and archived orders; run it before the application is started on the new version
+
+CREATE TABLE customer_aggregates (
+    customer_email   VARCHAR(255)   PRIMARY KEY,
+    customer_name    VARCHAR(255)   NOT NULL,
+    order_count      BIGINT         NOT NULL,
+    lifetime_revenue NUMERIC(14, 2) NOT NULL,
+    last_order_at    TIMESTAMP(6)
+);
+
+-- Top customers are read in this order, ORDER BY ... LIMIT stops after the rows returned
+CREATE INDEX idx_customer_aggregates_revenue ON customer_aggregates (lifetime_revenue DESC, customer_email);
+
+INSERT INTO customer_aggregates (customer_email, customer_name, order_count, lifetime_revenue, last_order_at)
+SELECT DISTINCT ON (customer_email)
+       customer_email,
+       customer_name,
+       COUNT(*) OVER (PARTITION BY customer_email),
+       SUM(total_amount) OVER (PARTITION BY customer_email),
+       MAX(created_at) OVER (PARTITION BY customer_email)
+FROM (SELECT customer_email, customer_name, total_amount, created_at FROM orders
+      UNION ALL
+      SELECT customer_email, customer_name, total_amount, created_at FROM orders_archive) all_orders
+ORDER BY customer_email, created_at DESC;
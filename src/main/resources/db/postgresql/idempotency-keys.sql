@@ -0,0 +1,11 @@
+-- Idempotency-Keys of create-order requests, written in the same transaction as the order
+-- Rows older than orders.idempotency.retention are purged by IdempotencyKeyPurgeJob
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    order_id        BIGINT       NOT NULL,
+    request_hash    VARCHAR(64)  NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_idempotency_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,18 @@
+-- Cold storage for final-state (DELIVERED/CANCELLED) orders, filled by OrderArchivalService
+-- Rows keep their original orders.id, so the archive shares the id space with the hot table
+
+CREATE TABLE orders_archive (
+    id             BIGINT         PRIMARY KEY,
+    order_number   VARCHAR(255)   NOT NULL UNIQUE,
+    customer_name  VARCHAR(255)   NOT NULL,
+    customer_email VARCHAR(255)   NOT NULL,
+    total_amount   NUMERIC(10, 2) NOT NULL,
+    status         VARCHAR(255)   NOT NULL,
+    notes          TEXT,
+    created_at     TIMESTAMP(6)   NOT NULL,
+    version        BIGINT,
+    archived_at    TIMESTAMP(6)   NOT NULL
+);
+
+CREATE INDEX idx_archive_status_created_at ON orders_archive (status, created_at);
+CREATE INDEX idx_archive_created_at ON orders_archive (created_at);
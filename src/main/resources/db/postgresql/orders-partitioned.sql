@@ -0,0 +1,38 @@
+-- Orders table range-partitioned by month on created_at (PostgreSQL 13+)
+--
+-- PostgreSQL requires the partition key in every primary key and unique constraint, so the
+-- primary key becomes (id, created_at) and order_number is unique per partition. Order numbers
+-- embed the creation timestamp, which keeps them globally unique in practice.
+--
+-- Monthly partitions orders_pYYYYMM are created ahead of time by OrderPartitionManager
+-- (orders.partitioning.enabled=true); rows outside every partition land in orders_default. When a month's
+-- partition is created after some of its orders already landed there, OrderPartitionManager moves them into
+-- it in the transaction that attaches it.
+
+CREATE TABLE orders (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    order_number   VARCHAR(255)   NOT NULL,
+    customer_name  VARCHAR(255)   NOT NULL,
+    customer_email VARCHAR(255)   NOT NULL,
+    total_amount   NUMERIC(10, 2) NOT NULL,
+    status         VARCHAR(255)   NOT NULL,
+    notes          TEXT,
+    created_at     TIMESTAMP(6)   NOT NULL,
+    version        BIGINT,
+    PRIMARY KEY (id, created_at),
+    CONSTRAINT uk_orders_order_number UNIQUE (order_number, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+
+-- Indexes on the parent are created on every current and future partition
+CREATE INDEX idx_customer_name ON orders (customer_name);
+CREATE INDEX idx_status_created_at ON orders (status, created_at);
+CREATE INDEX idx_created_at ON orders (created_at);
+CREATE INDEX idx_customer_email ON orders (customer_email);
+
+-- Migrating an existing unpartitioned table:
+--   ALTER TABLE orders RENAME TO orders_legacy;
+--   (run the statements above, let OrderPartitionManager create the monthly partitions or create them by hand)
+--   INSERT INTO orders SELECT * FROM orders_legacy;
+--   SELECT setval(pg_get_serial_sequence('orders', 'id'), (SELECT max(id) FROM orders));
@@ -0,0 +1,44 @@
+package com.ecommerce.analytics.orderservice.admission;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class TokenBucketTest {
+
+    private static final long START = TimeUnit.SECONDS.toNanos(100);
+
+    @Test
+    public void burstIsAdmittedThenRequestsAreRejected() {
+
+        TokenBucket bucket = new TokenBucket(10, 3, START);
+
+        Assertions.assertEquals(0, bucket.tryAcquire(START));
+        Assertions.assertEquals(0, bucket.tryAcquire(START));
+        Assertions.assertEquals(0, bucket.tryAcquire(START));
+
+        long retryAfter = bucket.tryAcquire(START);
+        Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(100), retryAfter);
+    }
+
+    @Test
+    public void tokensRefillAtTheConfiguredRate() {
+
+        TokenBucket bucket = new TokenBucket(10, 1, START);
+
+        Assertions.assertEquals(0, bucket.tryAcquire(START));
+        Assertions.assertTrue(bucket.tryAcquire(START + TimeUnit.MILLISECONDS.toNanos(50)) > 0);
+        Assertions.assertEquals(0, bucket.tryAcquire(START + TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+
+    @Test
+    public void bucketIsIdleOnceFullyRefilled() {
+
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+        bucket.tryAcquire(START);
+
+        Assertions.assertFalse(bucket.isIdle(START));
+        Assertions.assertTrue(bucket.isIdle(START + TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+}
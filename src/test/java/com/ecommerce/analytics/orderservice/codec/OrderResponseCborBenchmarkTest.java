@@ -0,0 +1,70 @@
+package com.ecommerce.analytics.orderservice.codec;
+
+import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Payload size and encode/decode cost of a page of orders, JSON vs CBOR
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class OrderResponseCborBenchmarkTest {
+
+    private static final int ITERATIONS = 20_000;
+
+    private static final TypeReference<List<OrderResponse>> ORDER_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper jsonMapper = mapper(Jackson2ObjectMapperBuilder.json());
+    private final ObjectMapper cborMapper = mapper(Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()));
+
+    @Test
+    public void payloadSizeAndThroughput() throws IOException {
+
+        List<OrderResponse> page = OrderResponseWriterBenchmarkTest.page();
+
+        for (ObjectMapper mapper : List.of(jsonMapper, cborMapper)) {
+
+            String format = mapper.getFactory().getFormatName();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(64 * 1024);
+
+            OrderResponseWriterBenchmarkTest.report(format + "-enc", out -> {
+                try (JsonGenerator generator = mapper.createGenerator(out, JsonEncoding.UTF8)) {
+                    OrderResponseWriter.writeList(page, generator);
+                }
+            }, outputStream);
+
+            byte[] payload = outputStream.toByteArray();
+            Assertions.assertEquals(page, mapper.readValue(payload, ORDER_LIST));
+
+            for (int i = 0; i < ITERATIONS; i++) {
+                mapper.readValue(payload, ORDER_LIST);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                mapper.readValue(payload, ORDER_LIST);
+            }
+
+            System.out.printf("%-8s bytes/response=%d decode/response=%.1f us%n",
+                    format + "-dec", payload.length, (System.nanoTime() - start) / 1_000.0 / ITERATIONS);
+        }
+    }
+
+    private static ObjectMapper mapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    }
+}
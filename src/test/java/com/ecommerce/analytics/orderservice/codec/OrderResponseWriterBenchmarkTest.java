@@ -0,0 +1,105 @@
+package com.ecommerce.analytics.orderservice.codec;
+
+import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bytes and heap allocated per serialized page, Jackson bean serializer vs OrderResponseWriter
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class OrderResponseWriterBenchmarkTest {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 20_000;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    public void bytesAndAllocationPerResponse() throws IOException {
+
+        List<OrderResponse> page = page();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(64 * 1024);
+
+        Serializer jackson = out -> objectMapper.writeValue(out, page);
+        Serializer writer = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+                OrderResponseWriter.writeList(page, generator);
+            }
+        };
+
+        report("jackson", jackson, outputStream);
+        report("writer", writer, outputStream);
+    }
+
+    static void report(String name, Serializer serializer, ByteArrayOutputStream outputStream) throws IOException {
+
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            outputStream.reset();
+            serializer.write(outputStream);
+        }
+
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            outputStream.reset();
+            serializer.write(outputStream);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%-8s rows=%d bytes/response=%d alloc/response=%d B time/response=%.1f us%n",
+                name,
+                PAGE_SIZE,
+                outputStream.size(),
+                allocated / MEASURED_ITERATIONS,
+                elapsed / 1_000.0 / MEASURED_ITERATIONS);
+    }
+
+    static List<OrderResponse> page() {
+
+        List<OrderResponse> page = new ArrayList<>(PAGE_SIZE);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 6, 1, 12, 0, 0, 123_456_000);
+
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(new OrderResponse((long) i,
+                    "ORD-1717243200000-" + Integer.toHexString(0xa00000 + i),
+                    "Customer " + i,
+                    "customer" + i + "@example.com",
+                    BigDecimal.valueOf(1999 + i, 2),
+                    "PENDING",
+                    i % 3 == 0 ? null : "Deliver after 5pm",
+                    createdAt.plusSeconds(i),
+                    (long) i % 4));
+        }
+
+        return page;
+    }
+
+    @FunctionalInterface
+    interface Serializer {
+        void write(ByteArrayOutputStream outputStream) throws IOException;
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.analytics.orderservice.codec;
+
+import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Compares against the ObjectMapper as auto-configured for the application
+ */
+@JsonTest
+public class OrderResponseWriterTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void outputMatchesTheObjectMapperByteForByte() throws IOException {
+
+        List<OrderResponse> orders = List.of(
+                new OrderResponse(1L, "ORD-1", "John Doe", "john@example.com",
+                        new BigDecimal("150.00"), "PENDING", "Leave at the door", LocalDateTime.of(2024, 3, 1, 10, 0), 0L),
+                new OrderResponse(2L, "ORD-2", "Zoë \"Q\" Müller", "zoe@example.com",
+                        new BigDecimal("1E+3"), "SHIPPED", "line\nbreak ☃", LocalDateTime.of(2024, 12, 31, 23, 59, 59, 120_000_000), 3L),
+                new OrderResponse(3L, "ORD-3", "Jane Roe", "jane@example.com",
+                        new BigDecimal("0.5"), "CANCELLED", null, LocalDateTime.of(999, 1, 2, 3, 4, 5, 6), 12L),
+                new OrderResponse(null, null, null, null, null, null, null, null, null));
+
+        Assertions.assertEquals(objectMapper.writeValueAsString(orders), write(orders));
+    }
+
+    @Test
+    public void emptyListIsAnEmptyArray() throws IOException {
+        Assertions.assertEquals("[]", write(List.of()));
+    }
+
+    private String write(List<OrderResponse> orders) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream, JsonEncoding.UTF8)) {
+            OrderResponseWriter.writeList(orders, generator);
+        }
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
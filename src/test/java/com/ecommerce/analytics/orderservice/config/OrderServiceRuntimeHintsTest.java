@@ -0,0 +1,38 @@
+package com.ecommerce.analytics.orderservice.config;
+
+import com.ecommerce.analytics.orderservice.dto.ErrorResponse;
+import com.ecommerce.analytics.orderservice.repository.OrderStatusTotals;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+public class OrderServiceRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    public void setUp() {
+        new OrderServiceRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    public void resourcesReadFromTheClasspathAreIncluded() {
+        Assertions.assertTrue(RuntimeHintsPredicates.resource().forResource("db/postgresql/idempotency-keys.sql").test(hints));
+        Assertions.assertTrue(RuntimeHintsPredicates.resource().forResource("schema/orders.cddl").test(hints));
+    }
+
+    @Test
+    public void jpqlConstructorExpressionTargetIsInvokable() {
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(OrderStatusTotals.class.getDeclaredConstructors()[0]).invoke().test(hints));
+    }
+
+    @Test
+    public void errorResponseIsBindable() {
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(ErrorResponse.class).withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecommerce.analytics.orderservice.config;
+
+import com.ecommerce.analytics.orderservice.datasource.ReplicaPoolDataSource;
+import com.ecommerce.analytics.orderservice.dto.OrderRequest;
+import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import com.ecommerce.analytics.orderservice.exception.OrderNotFoundException;
+import com.ecommerce.analytics.orderservice.service.OrderService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Runs against two H2 databases: the primary created by Hibernate and a hand-seeded replica
+ * holding a single order the primary does not have
+ */
+@SpringBootTest(properties = {
+        "orders.datasource.replicas.enabled=true",
+        "orders.datasource.replicas.nodes[0].url=" + ReplicaRoutingDataSourceConfigTest.REPLICA_URL,
+        "orders.datasource.replicas.nodes[0].username=sa",
+        "orders.datasource.replicas.nodes[1].url=jdbc:h2:mem:missing_replica;IFEXISTS=TRUE",
+        "orders.datasource.replicas.nodes[1].username=sa",
+        "orders.datasource.replicas.connection-timeout=250ms"
+})
+public class ReplicaRoutingDataSourceConfigTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:orderdb_replica;DB_CLOSE_DELAY=-1";
+
+    private static final long REPLICA_ONLY_ORDER_ID = 9001L;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ReplicaPoolDataSource replicaPoolDataSource;
+
+    @BeforeAll
+    public static void seedReplica() throws SQLException {
+
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+
+            statement.execute("""
+                    CREATE TABLE IF NOT EXISTS orders (
+                        id BIGINT PRIMARY KEY,
+                        order_number VARCHAR(255) NOT NULL UNIQUE,
+                        customer_name VARCHAR(255) NOT NULL,
+                        customer_email VARCHAR(255) NOT NULL,
+                        total_amount NUMERIC(10, 2) NOT NULL,
+                        status VARCHAR(255) NOT NULL,
+                        notes TEXT,
+                        created_at TIMESTAMP,
+                        version BIGINT)
+                    """);
+            statement.execute("""
+                    CREATE TABLE IF NOT EXISTS orders_archive (
+                        id BIGINT PRIMARY KEY,
+                        order_number VARCHAR(255) NOT NULL UNIQUE,
+                        customer_name VARCHAR(255) NOT NULL,
+                        customer_email VARCHAR(255) NOT NULL,
+                        total_amount NUMERIC(10, 2) NOT NULL,
+                        status VARCHAR(255) NOT NULL,
+                        notes TEXT,
+                        created_at TIMESTAMP NOT NULL,
+                        version BIGINT,
+                        archived_at TIMESTAMP NOT NULL)
+                    """);
+            statement.execute("DELETE FROM orders");
+            statement.execute("INSERT INTO orders VALUES (" + REPLICA_ONLY_ORDER_ID
+                    + ", 'ORD-REPLICA', 'Replica Reader', 'replica@example.com', 99.00, 'PENDING', NULL, CURRENT_TIMESTAMP, 0)");
+        }
+    }
+
+    @Test
+    public void readOnlyTransactionsAreServedByTheReplica() {
+
+        OrderResponse orderResponse = orderService.getOrderById(REPLICA_ONLY_ORDER_ID);
+
+        Assertions.assertEquals("ORD-REPLICA", orderResponse.getOrderNumber());
+    }
+
+    @Test
+    public void writesGoToThePrimary() throws SQLException {
+
+        OrderResponse created = orderService.createOrder(
+                new OrderRequest("Primary Writer", "primary@example.com", BigDecimal.valueOf(10.00)));
+
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT COUNT(*) FROM orders WHERE order_number = '" + created.getOrderNumber() + "'")) {
+            resultSet.next();
+            Assertions.assertEquals(0, resultSet.getLong(1));
+        }
+
+        // The new order only exists on the primary, so a replica read cannot see it
+        Assertions.assertThrows(OrderNotFoundException.class, () -> orderService.getOrderById(created.getId()));
+    }
+
+    @Test
+    public void unreachableReplicaIsEjected() {
+        Assertions.assertEquals(1, replicaPoolDataSource.getHealthyReplicaCount());
+    }
+}
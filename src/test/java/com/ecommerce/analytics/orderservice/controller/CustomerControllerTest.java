@@ -0,0 +1,44 @@
+package com.ecommerce.analytics.orderservice.controller;
+
+import com.ecommerce.analytics.orderservice.service.CustomerAggregateService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = CustomerController.class, properties = {
+        "orders.admission.limits.lookup.rate-per-second=0.1",
+        "orders.admission.limits.lookup.burst=1",
+        "orders.admission.api-keys=dashboard"
+})
+public class CustomerControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CustomerAggregateService customerAggregateService;
+
+    @Test
+    public void topCustomersBeyondTheClientRateLimitAreRejectedWith429() throws Exception {
+
+        Mockito.when(customerAggregateService.getTopCustomers(10)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/customers/top").header("X-API-Key", "dashboard"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/customers/top").header("X-API-Key", "dashboard"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.code").value("RATE_LIMITED"));
+    }
+}
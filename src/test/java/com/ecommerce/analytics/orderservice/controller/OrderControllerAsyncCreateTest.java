@@ -0,0 +1,133 @@
+package com.ecommerce.analytics.orderservice.controller;
+
+import com.ecommerce.analytics.orderservice.dto.OrderRequest;
+import com.ecommerce.analytics.orderservice.model.AsyncOrderFailure;
+import com.ecommerce.analytics.orderservice.repository.AsyncOrderFailureRepository;
+import com.ecommerce.analytics.orderservice.service.AsyncOrderWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "orders.async-create.enabled=true")
+@AutoConfigureMockMvc
+public class OrderControllerAsyncCreateTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AsyncOrderWriter asyncOrderWriter;
+
+    @Autowired
+    private AsyncOrderFailureRepository asyncOrderFailureRepository;
+
+    @Test
+    public void respondAsyncIsAcceptedAndTheStatusUrlLeadsToTheOrder() throws Exception {
+
+        MvcResult accepted = mockMvc.perform(post("/api/v1/orders/create-order")
+                        .header(OrderController.PREFER_HEADER, "respond-async, wait=5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request())))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(OrderController.PREFERENCE_APPLIED_HEADER, OrderController.RESPOND_ASYNC))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andReturn();
+
+        String orderNumber = objectMapper.readTree(accepted.getResponse().getContentAsString()).get("orderNumber").asText();
+        String location = accepted.getResponse().getHeader(HttpHeaders.LOCATION);
+        Assertions.assertTrue(location.endsWith("/api/v1/orders/by-number/" + orderNumber), location);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (mockMvc.perform(get("/api/v1/orders/by-number/{orderNumber}", orderNumber)).andReturn().getResponse().getStatus() == 202
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        mockMvc.perform(get("/api/v1/orders/by-number/{orderNumber}", orderNumber))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.orderNumber").value(orderNumber))
+                .andExpect(jsonPath("$.customerEmail").value("async@example.com"));
+    }
+
+    @Test
+    public void unknownOrderNumbersAreQueuedUntilAbandonAfterAndFailuresAreAnsweredFromTheFailureTable() throws Exception {
+
+        String recent = orderNumber(Instant.now());
+        String stale = orderNumber(Instant.now().minus(Duration.ofHours(1)));
+        String failed = orderNumber(Instant.now());
+        asyncOrderFailureRepository.save(new AsyncOrderFailure(failed, LocalDateTime.now()));
+
+        mockMvc.perform(get("/api/v1/orders/by-number/{orderNumber}", recent))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+
+        mockMvc.perform(get("/api/v1/orders/by-number/{orderNumber}", stale))
+                .andExpect(jsonPath("$.code").value("ORDER_NOT_FOUND"));
+
+        mockMvc.perform(get("/api/v1/orders/by-number/{orderNumber}", failed))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.code").value("ORDER_CREATION_FAILED"));
+
+        mockMvc.perform(get("/api/v1/orders/by-number/{orderNumber}", "not-an-order-number"))
+                .andExpect(jsonPath("$.code").value("ORDER_NOT_FOUND"));
+    }
+
+    @Test
+    public void idempotentRequestsStaySynchronous() throws Exception {
+
+        mockMvc.perform(post("/api/v1/orders/create-order")
+                        .header(OrderController.PREFER_HEADER, OrderController.RESPOND_ASYNC)
+                        .header(OrderController.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").exists());
+    }
+
+    @Test
+    @DirtiesContext
+    public void ordersAreRefusedWith503OnceIntakeHasStopped() throws Exception {
+
+        asyncOrderWriter.stop();
+
+        mockMvc.perform(post("/api/v1/orders/create-order")
+                        .header(OrderController.PREFER_HEADER, OrderController.RESPOND_ASYNC)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request())))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.code").value("ORDER_QUEUE_FULL"));
+    }
+
+    private static String orderNumber(Instant issuedAt) {
+        return "ORD-" + issuedAt.toEpochMilli() + "-" + UUID.randomUUID().toString().substring(0, 6);
+    }
+
+    private static OrderRequest request() {
+        return new OrderRequest("Async Customer", "async@example.com", BigDecimal.valueOf(42.00));
+    }
+}
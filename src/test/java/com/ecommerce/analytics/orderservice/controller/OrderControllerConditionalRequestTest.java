@@ -0,0 +1,123 @@
+package com.ecommerce.analytics.orderservice.controller;
+
+import com.ecommerce.analytics.orderservice.dto.OrderRequest;
+import com.ecommerce.analytics.orderservice.metrics.StatementCountFilter;
+import com.ecommerce.analytics.orderservice.model.Order;
+import com.ecommerce.analytics.orderservice.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class OrderControllerConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Order order;
+
+    @BeforeEach
+    public void setUp() {
+        order = orderRepository.save(new Order("John Doe", "john@example.com", BigDecimal.valueOf(150.00), "ORD-ETAG-001"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    public void getOrderReturnsAStrongETag() throws Exception {
+
+        mockMvc.perform(get("/api/v1/orders/{id}", order.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + order.getId() + "-0\""))
+                .andExpect(jsonPath("$.version").value(0));
+    }
+
+    @Test
+    public void unchangedOrderIsNotModifiedWithASingleStatement() throws Exception {
+
+        String eTag = "\"" + order.getId() + "-0\"";
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/v1/orders/{id}", order.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andReturn().getResponse();
+
+        Assertions.assertEquals(0, response.getContentLength());
+        Assertions.assertEquals("1", response.getHeader(StatementCountFilter.STATEMENT_COUNT_HEADER));
+    }
+
+    @Test
+    public void changedOrderIsReturnedInFull() throws Exception {
+
+        mockMvc.perform(patch("/api/v1/orders/{id}", order.getId()).param("status", "CONFIRMED"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + order.getId() + "-1\""));
+
+        mockMvc.perform(get("/api/v1/orders/{id}", order.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + order.getId() + "-0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONFIRMED"));
+    }
+
+    @Test
+    public void updateWithCurrentIfMatchSucceeds() throws Exception {
+
+        OrderRequest orderRequest = new OrderRequest("John Doe", "john@example.com", BigDecimal.valueOf(175.00));
+
+        mockMvc.perform(put("/api/v1/orders/{id}", order.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + order.getId() + "-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + order.getId() + "-1\""));
+    }
+
+    @Test
+    public void updateWithStaleIfMatchIsRejected() throws Exception {
+
+        OrderRequest orderRequest = new OrderRequest("John Doe", "john@example.com", BigDecimal.valueOf(175.00));
+
+        mockMvc.perform(put("/api/v1/orders/{id}", order.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + order.getId() + "-7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequest)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("PRECONDITION_FAILED"));
+
+        mockMvc.perform(patch("/api/v1/orders/{id}", order.getId())
+                        .param("status", "CONFIRMED")
+                        .header(HttpHeaders.IF_MATCH, "\"" + (order.getId() + 1) + "-0\""))
+                .andExpect(status().isPreconditionFailed());
+
+        Assertions.assertEquals("PENDING", orderRepository.findById(order.getId()).orElseThrow().getStatus());
+    }
+}
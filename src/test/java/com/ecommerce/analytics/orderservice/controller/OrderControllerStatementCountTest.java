@@ -0,0 +1,130 @@
+package com.ecommerce.analytics.orderservice.controller;
+
+import com.ecommerce.analytics.orderservice.dto.OrderRequest;
+import com.ecommerce.analytics.orderservice.dto.OrderSearchCriteria;
+import com.ecommerce.analytics.orderservice.metrics.StatementCountFilter;
+import com.ecommerce.analytics.orderservice.model.Order;
+import com.ecommerce.analytics.orderservice.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Guards the number of SQL statements each OrderController endpoint may execute
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class OrderControllerStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Order order;
+
+    @BeforeEach
+    public void setUp() {
+        order = orderRepository.save(new Order("John Doe", "john@example.com", BigDecimal.valueOf(150.00), "ORD-STMT-001"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    public void createOrderExecutesAtMostTwoStatements() throws Exception {
+
+        OrderRequest orderRequest = new OrderRequest("Jane Smith", "jane@example.com", BigDecimal.valueOf(250.00));
+
+        // The order insert and the customer aggregate update; a customer's first order also inserts the aggregate
+        mockMvc.perform(post("/api/v1/orders/create-order")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(orderRequest)));
+
+        assertStatementCountAtMost(2, post("/api/v1/orders/create-order")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(orderRequest)));
+    }
+
+    @Test
+    public void getOrdersExecutesAtMostOneStatement() throws Exception {
+        assertStatementCountAtMost(1, get("/api/v1/orders/getOrders"));
+    }
+
+    @Test
+    public void getOrderExecutesAtMostOneStatement() throws Exception {
+        assertStatementCountAtMost(1, get("/api/v1/orders/{id}", order.getId()));
+    }
+
+    @Test
+    public void updateOrderExecutesAtMostThreeStatements() throws Exception {
+
+        OrderRequest orderRequest = new OrderRequest("John Doe", "john@example.com", BigDecimal.valueOf(175.00));
+
+        assertStatementCountAtMost(3, put("/api/v1/orders/{id}", order.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(orderRequest)));
+    }
+
+    @Test
+    public void deleteOrderExecutesAtMostThreeStatements() throws Exception {
+        assertStatementCountAtMost(3, delete("/api/v1/orders/{id}", order.getId()));
+    }
+
+    @Test
+    public void searchOrdersExecutesAtMostOneStatement() throws Exception {
+
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setStatus("PENDING");
+
+        assertStatementCountAtMost(1, get("/api/v1/orders/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(criteria)));
+    }
+
+    @Test
+    public void getOrderStatsExecutesAtMostTwoStatements() throws Exception {
+        assertStatementCountAtMost(2, get("/api/v1/orders/stats"));
+    }
+
+    @Test
+    public void updateOrderStatusExecutesAtMostTwoStatements() throws Exception {
+        assertStatementCountAtMost(2, patch("/api/v1/orders/{id}", order.getId()).param("status", "CONFIRMED"));
+    }
+
+    private void assertStatementCountAtMost(int maxStatements, RequestBuilder requestBuilder) throws Exception {
+
+        MvcResult result = mockMvc.perform(requestBuilder).andReturn();
+
+        String header = result.getResponse().getHeader(StatementCountFilter.STATEMENT_COUNT_HEADER);
+        Assertions.assertNotNull(header, "Missing " + StatementCountFilter.STATEMENT_COUNT_HEADER + " header");
+
+        int statements = Integer.parseInt(header);
+        Assertions.assertTrue(statements > 0, "No statements were counted for the request");
+        Assertions.assertTrue(statements <= maxStatements,
+                "Expected at most " + maxStatements + " statements but was " + statements);
+    }
+}
@@ -2,25 +2,38 @@ package com.ecommerce.analytics.orderservice.controller;
 
 import com.ecommerce.analytics.orderservice.dto.OrderRequest;
 import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import com.ecommerce.analytics.orderservice.dto.OrderStatsResponse;
 import com.ecommerce.analytics.orderservice.service.OrderService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(OrderController.class)
+@WebMvcTest(controllers = OrderController.class, properties = {
+        "orders.admission.limits.stats.rate-per-second=0.1",
+        "orders.admission.limits.stats.burst=1",
+        "orders.admission.api-keys=dashboard,another-client,sampling-dashboard,exact-dashboard"
+})
 public class OrderControllerTest {
 
     @Autowired
@@ -69,4 +82,107 @@ public class OrderControllerTest {
 
         Mockito.verify(orderService).createOrder(Mockito.any(OrderRequest.class));
     }
+
+    @Test
+    public void createOrderWithIdempotencyKeyIsDeduplicated() throws Exception {
+
+        Mockito.when(orderService.createOrder(Mockito.any(OrderRequest.class), Mockito.eq("retry-1"))).thenReturn(orderResponse);
+
+        mockMvc.perform(post("/api/v1/orders/create-order")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(orderRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1));
+
+        Mockito.verify(orderService).createOrder(Mockito.any(OrderRequest.class), Mockito.eq("retry-1"));
+        Mockito.verify(orderService, Mockito.never()).createOrder(Mockito.any(OrderRequest.class));
+    }
+
+    @Test
+    public void getOrdersNegotiatesCbor() throws Exception {
+
+        Mockito.when(orderService.getAllOrders(0, 10, "createdAt", "desc")).thenReturn(new SliceImpl<>(List.of(orderResponse)));
+
+        byte[] body = mockMvc.perform(get("/api/v1/orders/getOrders").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<OrderResponse> orders = CBORMapper.builder().findAndAddModules().build()
+                .readValue(body, new TypeReference<List<OrderResponse>>() {
+                });
+
+        Assertions.assertEquals(List.of(orderResponse), orders);
+    }
+
+    @Test
+    public void searchRejectsUnmergeableSortsAndDeepPages() throws Exception {
+
+        mockMvc.perform(get("/api/v1/orders/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}")
+                        .param("sortBy", "customerName.length"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("VALIDATION_ERRORS"))
+                .andExpect(jsonPath("$.validationErrors.sortBy").exists());
+
+        mockMvc.perform(get("/api/v1/orders/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}")
+                        .param("page", "2147483647"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.page").exists());
+
+        Mockito.verifyNoInteractions(orderService);
+    }
+
+    @Test
+    public void statsRequestsBeyondTheClientRateLimitAreRejected() throws Exception {
+
+        Mockito.when(orderService.getOrderStatistics()).thenReturn(new OrderStatsResponse());
+
+        mockMvc.perform(get("/api/v1/orders/stats").header("X-API-Key", "dashboard"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/orders/stats").header("X-API-Key", "dashboard"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.code").value("RATE_LIMITED"));
+
+        mockMvc.perform(get("/api/v1/orders/stats").header("X-API-Key", "another-client"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void untrustedApiKeysShareTheRemoteAddressLimit() throws Exception {
+
+        Mockito.when(orderService.getOrderStatistics()).thenReturn(new OrderStatsResponse());
+
+        mockMvc.perform(get("/api/v1/orders/stats").header("X-API-Key", "rotated-1"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/orders/stats").header("X-API-Key", "rotated-2"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    public void approximateStatsAreServedOnRequestOnly() throws Exception {
+
+        OrderStatsResponse approximate = new OrderStatsResponse();
+        approximate.setMode(OrderStatsResponse.APPROXIMATE);
+        approximate.setSamplingRate(0.01);
+        Mockito.when(orderService.getApproximateOrderStatistics()).thenReturn(approximate);
+        Mockito.when(orderService.getOrderStatistics()).thenReturn(new OrderStatsResponse());
+
+        mockMvc.perform(get("/api/v1/orders/stats").param("mode", "approximate").header("X-API-Key", "sampling-dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mode").value("APPROXIMATE"))
+                .andExpect(jsonPath("$.samplingRate").value(0.01));
+
+        mockMvc.perform(get("/api/v1/orders/stats").header("X-API-Key", "exact-dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mode").value("EXACT"))
+                .andExpect(jsonPath("$.samplingRate").doesNotExist());
+    }
 }
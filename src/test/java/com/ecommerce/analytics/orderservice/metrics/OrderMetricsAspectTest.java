@@ -0,0 +1,69 @@
+package com.ecommerce.analytics.orderservice.metrics;
+
+import com.ecommerce.analytics.orderservice.dto.OrderRequest;
+import com.ecommerce.analytics.orderservice.dto.OrderSearchCriteria;
+import com.ecommerce.analytics.orderservice.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+@SpringBootTest
+public class OrderMetricsAspectTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void serviceMethodsAreTimedWithSortPageSizeAndStatusTags() {
+
+        orderService.createOrder(new OrderRequest("John Doe", "john@example.com", BigDecimal.valueOf(150.00)));
+
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setStatus("PENDING");
+        orderService.searchOrders(criteria, 0, 20, "createdAt", "desc");
+
+        Timer searchTimer = meterRegistry.find(OrderMetricsAspect.SERVICE_TIMER)
+                .tags("method", "searchOrders", "sort", "createdAt", "page.size", "le50", "status", "PENDING")
+                .timer();
+
+        Assertions.assertNotNull(searchTimer);
+        Assertions.assertTrue(searchTimer.count() >= 1);
+    }
+
+    @Test
+    public void repositoryQueriesAreTimed() {
+
+        orderService.getAllOrders(0, 10, "totalAmount", "asc");
+
+        Timer findAllTimer = meterRegistry.find(OrderMetricsAspect.REPOSITORY_TIMER)
+                .tags("method", "findAll", "sort", "totalAmount", "page.size", "le10")
+                .timer();
+
+        Assertions.assertNotNull(findAllTimer);
+        Assertions.assertTrue(findAllTimer.count() >= 1);
+    }
+
+    @Test
+    public void unknownSortPropertiesShareOneTag() {
+
+        try {
+            orderService.getAllOrders(0, 10, "noSuchProperty" + System.nanoTime(), "asc");
+        } catch (RuntimeException ex) {
+            // The call fails on the unknown property, it is still timed
+        }
+
+        Assertions.assertNotNull(meterRegistry.find(OrderMetricsAspect.SERVICE_TIMER)
+                .tags("method", "getAllOrders", "sort", "other")
+                .timer());
+        Assertions.assertTrue(meterRegistry.find(OrderMetricsAspect.SERVICE_TIMER).timers().stream()
+                .noneMatch(timer -> timer.getId().getTag("sort").startsWith("noSuchProperty")));
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.analytics.orderservice.partition;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public class OrderPartitionManagerTest {
+
+    @Test
+    public void partitionNameRoundTripsToItsMonth() {
+
+        YearMonth month = YearMonth.of(2025, 3);
+
+        Assertions.assertEquals("orders_p202503", OrderPartitionManager.partitionName(month));
+        Assertions.assertEquals(Optional.of(month), OrderPartitionManager.partitionMonth("orders_p202503"));
+    }
+
+    @Test
+    public void defaultPartitionHasNoMonth() {
+        Assertions.assertTrue(OrderPartitionManager.partitionMonth("orders_default").isEmpty());
+    }
+
+    @Test
+    public void partitionsOlderThanRetentionAreDetachedOldestFirst() {
+
+        Set<YearMonth> existing = Set.of(
+                YearMonth.of(2024, 11),
+                YearMonth.of(2024, 12),
+                YearMonth.of(2025, 1),
+                YearMonth.of(2025, 2));
+
+        List<YearMonth> toDetach = OrderPartitionManager.partitionsToDetach(existing, YearMonth.of(2025, 2), 2);
+
+        Assertions.assertEquals(List.of(YearMonth.of(2024, 11)), toDetach);
+    }
+
+    @Test
+    public void nothingIsDetachedWhenRetentionIsDisabled() {
+
+        Set<YearMonth> existing = Set.of(YearMonth.of(2020, 1));
+
+        Assertions.assertTrue(OrderPartitionManager.partitionsToDetach(existing, YearMonth.of(2025, 2), 0).isEmpty());
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @DataJpaTest
 public class OrderRepositoryTest {
@@ -67,6 +68,21 @@ public class OrderRepositoryTest {
         Assertions.assertTrue(orders.hasContent());
     }
 
+    @Test
+    public void findByCreatedAtRangeWhenSliceContentNotEmpty() {
+
+        Pageable pageable = PageRequest.of(0, 3);
+        LocalDateTime now = LocalDateTime.now();
+
+        Slice<Order> orders = orderRepository.findByStatusAndCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+                "PENDING", now.minusHours(1), now.plusHours(1), pageable);
+        Assertions.assertEquals(2, orders.getNumberOfElements());
+
+        Slice<Order> future = orderRepository.findByCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+                now.plusHours(1), now.plusHours(2), pageable);
+        Assertions.assertFalse(future.hasContent());
+    }
+
     @Test
     public void findHighValueOrdersCustomerWhenSliceContentNotEmpty() {
 
@@ -0,0 +1,42 @@
+package com.ecommerce.analytics.orderservice.service;
+
+import com.ecommerce.analytics.orderservice.dto.OrderRequest;
+import com.ecommerce.analytics.orderservice.dto.OrderStatsResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The test tables are far below the target sample size, so the sample is the whole table
+ */
+@SpringBootTest
+public class ApproximateOrderStatisticsTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    public void smallTablesAreReadWholeAndMatchTheExactStatistics() {
+
+        orderService.createOrder(new OrderRequest("Sampled Customer", "sampled-" + UUID.randomUUID() + "@example.com",
+                BigDecimal.valueOf(42.50)));
+
+        OrderStatsResponse exact = orderService.getOrderStatistics();
+        OrderStatsResponse approximate = orderService.getApproximateOrderStatistics();
+
+        Assertions.assertEquals(OrderStatsResponse.APPROXIMATE, approximate.getMode());
+        Assertions.assertEquals(1.0, approximate.getSamplingRate());
+        Assertions.assertEquals(exact.getTotalOrders(), approximate.getSampleSize());
+        Assertions.assertEquals(exact.getTotalOrders(), approximate.getTotalOrders());
+        Assertions.assertEquals(exact.getPendingOrders(), approximate.getPendingOrders());
+        Assertions.assertEquals(0, exact.getTotalRevenue().compareTo(approximate.getTotalRevenue()));
+        Assertions.assertEquals(0, exact.getAverageOrderValue().compareTo(approximate.getAverageOrderValue()));
+        Assertions.assertNotNull(approximate.getMedianOrderValue());
+        Assertions.assertTrue(approximate.getDistinctCustomers() >= 1);
+        Assertions.assertTrue(approximate.getConfidenceIntervals().containsKey("distinctCustomers"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.ecommerce.analytics.orderservice.service;
+
+import com.ecommerce.analytics.orderservice.dto.OrderRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order creation under concurrent load: synchronous insert per request vs accepted into the queue and written in batches
+ * Reports throughput until every order is committed, and the latency callers see
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "orders.async-create.enabled=true",
+        "orders.async-create.queue-capacity=" + AsyncOrderWriterBenchmarkTest.ORDERS,
+        "orders.async-create.workers=2",
+        "orders.async-create.batch-size=100"
+})
+public class AsyncOrderWriterBenchmarkTest {
+
+    static final int ORDERS = 20_000;
+    private static final int CLIENTS = 16;
+    private static final int CUSTOMERS = 1_000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private AsyncOrderWriter asyncOrderWriter;
+
+    @FunctionalInterface
+    private interface Create {
+        void create(OrderRequest orderRequest);
+    }
+
+    @Test
+    public void asyncVersusSynchronousCreation() throws Exception {
+
+        // Warm up both paths
+        run(2_000, orderService::createOrder);
+        run(2_000, asyncOrderWriter::accept);
+        awaitWritten();
+
+        report("sync", run(ORDERS, orderService::createOrder));
+        report("async", run(ORDERS, asyncOrderWriter::accept));
+    }
+
+    /**
+     * @return per-request latencies in nanoseconds, with the elapsed time until all orders are committed appended last
+     */
+    private long[] run(int orders, Create create) throws Exception {
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long[] latencies = new long[orders + 1];
+
+        long start = System.nanoTime();
+
+        List<Future<?>> futures = new ArrayList<>(CLIENTS);
+        for (int client = 0; client < CLIENTS; client++) {
+            int first = client;
+            futures.add(clients.submit(() -> {
+                for (int i = first; i < orders; i += CLIENTS) {
+                    OrderRequest orderRequest = new OrderRequest("Bench Customer",
+                            "bench" + (i % CUSTOMERS) + "@example.com", BigDecimal.valueOf(19.99));
+                    long requestStart = System.nanoTime();
+                    create.create(orderRequest);
+                    latencies[i] = System.nanoTime() - requestStart;
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        clients.shutdown();
+
+        awaitWritten();
+        latencies[orders] = System.nanoTime() - start;
+
+        return latencies;
+    }
+
+    private void awaitWritten() throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        while (asyncOrderWriter.getUnwrittenCount() > 0) {
+            Assertions.assertTrue(System.nanoTime() < deadline, "Queue did not drain");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void report(String mode, long[] measurements) {
+
+        int orders = measurements.length - 1;
+        long elapsed = measurements[orders];
+        long[] latencies = Arrays.copyOf(measurements, orders);
+        Arrays.sort(latencies);
+
+        System.out.printf("mode=%s orders=%d clients=%d throughput=%.0f orders/s latency p50=%.0f us p99=%.0f us%n",
+                mode, orders, CLIENTS,
+                orders / (elapsed / 1_000_000_000.0),
+                latencies[orders / 2] / 1_000.0,
+                latencies[(int) (orders * 0.99)] / 1_000.0);
+    }
+}
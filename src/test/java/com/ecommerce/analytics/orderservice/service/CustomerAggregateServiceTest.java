@@ -0,0 +1,112 @@
+package com.ecommerce.analytics.orderservice.service;
+
+import com.ecommerce.analytics.orderservice.dto.CustomerSummaryResponse;
+import com.ecommerce.analytics.orderservice.dto.OrderRequest;
+import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import com.ecommerce.analytics.orderservice.model.CustomerAggregate;
+import com.ecommerce.analytics.orderservice.repository.CustomerAggregateRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@SpringBootTest
+public class CustomerAggregateServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerAggregateService customerAggregateService;
+
+    @Autowired
+    private CustomerAggregateRepository customerAggregateRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void ordersAreCountedPerCustomerAndRanked() {
+
+        String big = uniqueEmail();
+        String bigger = uniqueEmail();
+
+        orderService.createOrder(new OrderRequest("Big Spender", big, BigDecimal.valueOf(3_000_000)));
+        orderService.createOrder(new OrderRequest("Bigger Spender", bigger, BigDecimal.valueOf(4_000_000)));
+        orderService.createOrder(new OrderRequest("Bigger Spender", bigger, BigDecimal.valueOf(1_000_000)));
+
+        CustomerAggregate aggregate = customerAggregateRepository.findById(bigger).orElseThrow();
+        Assertions.assertEquals(2, aggregate.getOrderCount());
+        Assertions.assertEquals(0, BigDecimal.valueOf(5_000_000).compareTo(aggregate.getLifetimeRevenue()));
+        Assertions.assertNotNull(aggregate.getLastOrderAt());
+
+        List<String> ranked = customerAggregateService.getTopCustomers(100).stream()
+                .map(CustomerSummaryResponse::getCustomerEmail)
+                .filter(email -> email.equals(big) || email.equals(bigger))
+                .toList();
+        Assertions.assertEquals(List.of(bigger, big), ranked);
+    }
+
+    @Test
+    public void updatesAndDeletesMoveTheTotals() {
+
+        String original = uniqueEmail();
+        String corrected = uniqueEmail();
+
+        OrderResponse order = orderService.createOrder(new OrderRequest("Typo Customer", original, BigDecimal.valueOf(2_000_000)));
+        orderService.updateOrder(order.getId(), new OrderRequest("Typo Customer", corrected, BigDecimal.valueOf(2_500_000)));
+
+        Assertions.assertEquals(0, customerAggregateRepository.findById(original).orElseThrow().getOrderCount());
+        Assertions.assertEquals(0, BigDecimal.valueOf(2_500_000)
+                .compareTo(customerAggregateRepository.findById(corrected).orElseThrow().getLifetimeRevenue()));
+        Assertions.assertEquals(2_500_000, topRevenue(corrected).intValue());
+        Assertions.assertNull(topRevenue(original));
+
+        orderService.deleteOrder(order.getId());
+
+        CustomerAggregate afterDelete = customerAggregateRepository.findById(corrected).orElseThrow();
+        Assertions.assertEquals(0, afterDelete.getOrderCount());
+        Assertions.assertEquals(0, BigDecimal.ZERO.compareTo(afterDelete.getLifetimeRevenue()));
+        Assertions.assertNull(topRevenue(corrected));
+    }
+
+    @Test
+    public void aBatchIsSummedPerCustomer() {
+
+        String repeat = uniqueEmail();
+        String once = uniqueEmail();
+
+        Map<String, OrderRequest> orderRequests = new LinkedHashMap<>();
+        orderRequests.put(OrderService.generateOrderNumber(), new OrderRequest("Repeat Customer", repeat, BigDecimal.valueOf(10)));
+        orderRequests.put(OrderService.generateOrderNumber(), new OrderRequest("Once Customer", once, BigDecimal.valueOf(5)));
+        orderRequests.put(OrderService.generateOrderNumber(), new OrderRequest("Repeat Customer Renamed", repeat, BigDecimal.valueOf(15)));
+
+        transactionTemplate.executeWithoutResult(status -> orderService.createOrdersWithNumbers(orderRequests));
+
+        CustomerAggregate repeated = customerAggregateRepository.findById(repeat).orElseThrow();
+        Assertions.assertEquals(2, repeated.getOrderCount());
+        Assertions.assertEquals(0, BigDecimal.valueOf(25).compareTo(repeated.getLifetimeRevenue()));
+        Assertions.assertEquals("Repeat Customer Renamed", repeated.getCustomerName());
+        Assertions.assertEquals(1, customerAggregateRepository.findById(once).orElseThrow().getOrderCount());
+        orderRequests.keySet().forEach(orderNumber -> Assertions.assertTrue(orderService.findOrderByNumber(orderNumber).isPresent()));
+    }
+
+    private BigDecimal topRevenue(String customerEmail) {
+        return customerAggregateService.getTopCustomers(100).stream()
+                .filter(customer -> customer.getCustomerEmail().equals(customerEmail))
+                .map(CustomerSummaryResponse::getLifetimeRevenue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String uniqueEmail() {
+        return UUID.randomUUID() + "@example.com";
+    }
+}
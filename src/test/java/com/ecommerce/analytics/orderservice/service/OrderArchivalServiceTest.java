@@ -0,0 +1,146 @@
+package com.ecommerce.analytics.orderservice.service;
+
+import com.ecommerce.analytics.orderservice.dto.OrderRequest;
+import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import com.ecommerce.analytics.orderservice.dto.OrderSearchCriteria;
+import com.ecommerce.analytics.orderservice.dto.OrderStatsResponse;
+import com.ecommerce.analytics.orderservice.model.Order;
+import com.ecommerce.analytics.orderservice.repository.ArchivedOrderRepository;
+import com.ecommerce.analytics.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@SpringBootTest(properties = {
+        "orders.archival.enabled=true",
+        "orders.archival.min-age=0s",
+        "orders.archival.batch-size=2",
+        "orders.archival.initial-delay=PT24H"
+})
+public class OrderArchivalServiceTest {
+
+    @Autowired
+    private OrderArchivalService orderArchivalService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Order delivered;
+    private Order cancelled;
+    private Order pending;
+
+    @BeforeEach
+    public void setUp() {
+        delivered = orderRepository.save(order("ORD-ARCH-001", "DELIVERED", 100.00));
+        cancelled = orderRepository.save(order("ORD-ARCH-002", "CANCELLED", 40.00));
+        pending = orderRepository.save(order("ORD-ARCH-003", "PENDING", 60.00));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        orderRepository.deleteAll();
+        archivedOrderRepository.deleteAll();
+    }
+
+    @Test
+    public void finalStateOrdersMoveToTheArchive() {
+
+        Assertions.assertEquals(2, orderArchivalService.archiveFinalStateOrders());
+
+        Assertions.assertFalse(orderRepository.existsById(delivered.getId()));
+        Assertions.assertFalse(orderRepository.existsById(cancelled.getId()));
+        Assertions.assertTrue(orderRepository.existsById(pending.getId()));
+        Assertions.assertTrue(archivedOrderRepository.existsById(delivered.getId()));
+    }
+
+    @Test
+    public void getOrderByIdFallsBackToTheArchive() {
+
+        orderArchivalService.archiveFinalStateOrders();
+
+        OrderResponse orderResponse = orderService.getOrderById(delivered.getId());
+
+        Assertions.assertEquals("ORD-ARCH-001", orderResponse.getOrderNumber());
+        Assertions.assertEquals("DELIVERED", orderResponse.getStatus());
+    }
+
+    @Test
+    public void searchMergesActiveAndArchivedOrders() {
+
+        orderArchivalService.archiveFinalStateOrders();
+
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setCustomerName("Archive Customer");
+
+        List<OrderResponse> firstPage = orderService.searchOrders(criteria, 0, 2, "totalAmount", "desc").getContent();
+        List<OrderResponse> secondPage = orderService.searchOrders(criteria, 1, 2, "totalAmount", "desc").getContent();
+
+        Assertions.assertEquals(List.of("ORD-ARCH-001", "ORD-ARCH-003"),
+                firstPage.stream().map(OrderResponse::getOrderNumber).toList());
+        Assertions.assertEquals(List.of("ORD-ARCH-002"),
+                secondPage.stream().map(OrderResponse::getOrderNumber).toList());
+    }
+
+    @Test
+    public void statisticsIncludeArchivedOrders() {
+
+        OrderStatsResponse before = orderService.getOrderStatistics();
+
+        orderArchivalService.archiveFinalStateOrders();
+
+        OrderStatsResponse after = orderService.getOrderStatistics();
+
+        Assertions.assertEquals(before.getTotalOrders(), after.getTotalOrders());
+        Assertions.assertEquals(before.getDeliveredOrders(), after.getDeliveredOrders());
+        Assertions.assertEquals(before.getCancelledOrders(), after.getCancelledOrders());
+        Assertions.assertEquals(0, before.getTotalRevenue().compareTo(after.getTotalRevenue()));
+    }
+
+    @Test
+    public void ordersUpdatedAfterTheBatchWasReadStayActive() {
+
+        List<Order> batch = List.of(orderRepository.findById(delivered.getId()).orElseThrow(),
+                orderRepository.findById(cancelled.getId()).orElseThrow());
+
+        orderService.updateOrder(delivered.getId(),
+                new OrderRequest("Archive Customer", "archive@example.com", BigDecimal.valueOf(120.00)));
+
+        Assertions.assertEquals(Integer.valueOf(1), transactionTemplate.execute(status -> orderArchivalService.archive(batch)));
+
+        Assertions.assertFalse(archivedOrderRepository.existsById(delivered.getId()));
+        Assertions.assertEquals(0, BigDecimal.valueOf(120.00).compareTo(
+                orderRepository.findById(delivered.getId()).orElseThrow().getTotalAmount()));
+        Assertions.assertTrue(archivedOrderRepository.existsById(cancelled.getId()));
+    }
+
+    @Test
+    public void archivedOrdersCannotBeModified() {
+
+        orderArchivalService.archiveFinalStateOrders();
+
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> orderService.updateOrderStatus(delivered.getId(), "PENDING"));
+    }
+
+    private static Order order(String orderNumber, String status, double amount) {
+        Order order = new Order("Archive Customer", "archive@example.com", BigDecimal.valueOf(amount), orderNumber);
+        order.setStatus(status);
+        return order;
+    }
+}
@@ -0,0 +1,107 @@
+package com.ecommerce.analytics.orderservice.service;
+
+import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import com.ecommerce.analytics.orderservice.dto.OrderSearchCriteria;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Multi-status search: parallel per-status queries merged in memory vs one combined IN query
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Meaningful numbers need PostgreSQL (-Dspring.profiles.active=prod with DB_* set); H2 sorts every
+ * matching row of each status instead of walking the (status, created_at) index backwards
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "orders.search.fan-out.enabled=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class OrderSearchFanOutBenchmarkTest {
+
+    private static final int ROWS = 200_000;
+    private static final int ITERATIONS = 200;
+    private static final String[] STATUSES = {"PENDING", "CONFIRMED", "SHIPPED", "DELIVERED", "CANCELLED"};
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderSearchFanOut orderSearchFanOut;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    public void seed() {
+
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        List<Object[]> rows = new ArrayList<>(ROWS);
+
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{"ORD-BENCH-" + i, "Customer " + (i % 5000), "customer" + (i % 5000) + "@example.com",
+                    10 + i % 500, STATUSES[i % STATUSES.length], Timestamp.valueOf(start.plusSeconds(i * 150L))});
+        }
+
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO orders (order_number, customer_name, customer_email, total_amount, status, created_at, version)
+                VALUES (?, ?, ?, ?, ?, ?, 0)
+                """, rows);
+    }
+
+    @AfterAll
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM orders WHERE order_number LIKE 'ORD-BENCH-%'");
+    }
+
+    @Test
+    public void fanOutVersusCombinedQuery() {
+
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setStatuses(List.of("PENDING", "CONFIRMED", "SHIPPED"));
+
+        Object target = AopTestUtils.getTargetObject(orderService);
+
+        Supplier<List<OrderResponse>> search = () -> orderService.searchOrders(criteria, 0, 20, "createdAt", "desc").getContent();
+
+        ReflectionTestUtils.setField(target, "orderSearchFanOut", null);
+        List<OrderResponse> combined = search.get();
+        double combinedMicros = time(search);
+
+        ReflectionTestUtils.setField(target, "orderSearchFanOut", orderSearchFanOut);
+        List<OrderResponse> fannedOut = search.get();
+        double fanOutMicros = time(search);
+
+        Assertions.assertEquals(combined.stream().map(OrderResponse::getId).toList(),
+                fannedOut.stream().map(OrderResponse::getId).toList());
+
+        System.out.printf("rows=%d statuses=3 page=20 combined=%.0f us fan-out=%.0f us%n",
+                ROWS, combinedMicros, fanOutMicros);
+    }
+
+    private static double time(Supplier<List<OrderResponse>> search) {
+
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            search.get();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            search.get();
+        }
+
+        return (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+    }
+}
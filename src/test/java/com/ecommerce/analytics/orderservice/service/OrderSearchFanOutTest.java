@@ -0,0 +1,128 @@
+package com.ecommerce.analytics.orderservice.service;
+
+import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import com.ecommerce.analytics.orderservice.dto.OrderSearchCriteria;
+import com.ecommerce.analytics.orderservice.metrics.StatementCounter;
+import com.ecommerce.analytics.orderservice.model.ArchivedOrder;
+import com.ecommerce.analytics.orderservice.model.Order;
+import com.ecommerce.analytics.orderservice.repository.ArchivedOrderRepository;
+import com.ecommerce.analytics.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest(properties = "orders.search.fan-out.enabled=true")
+public class OrderSearchFanOutTest {
+
+    private static final String CUSTOMER = "FanOut Customer";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @BeforeEach
+    public void setUp() {
+
+        List<Order> orders = new ArrayList<>();
+        String[] statuses = {"PENDING", "CONFIRMED", "SHIPPED", "DELIVERED"};
+
+        for (int i = 0; i < 20; i++) {
+            Order order = new Order(CUSTOMER, "fanout@example.com", BigDecimal.valueOf(10 + i), "ORD-FAN-" + i);
+            order.setStatus(statuses[i % statuses.length]);
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+
+        // Archived deliveries interleave with the hot ones by amount
+        for (int i = 0; i < 5; i++) {
+            ArchivedOrder archivedOrder = new ArchivedOrder();
+            archivedOrder.setId(950_000L + i);
+            archivedOrder.setOrderNumber("ORD-FAN-ARCH-" + i);
+            archivedOrder.setCustomerName(CUSTOMER);
+            archivedOrder.setCustomerEmail("fanout@example.com");
+            archivedOrder.setTotalAmount(new BigDecimal("10.50").add(BigDecimal.valueOf(4L * i)));
+            archivedOrder.setStatus("DELIVERED");
+            archivedOrder.setCreatedAt(LocalDateTime.now().minusYears(1));
+            archivedOrder.setVersion(0L);
+            archivedOrder.setArchivedAt(LocalDateTime.now());
+            archivedOrderRepository.save(archivedOrder);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        orderRepository.deleteAll();
+        archivedOrderRepository.deleteAll();
+    }
+
+    @Test
+    public void multiStatusPagesMatchASingleSortedResult() {
+
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setCustomerName(CUSTOMER);
+        criteria.setStatuses(List.of("PENDING", "DELIVERED"));
+
+        List<BigDecimal> expected = new ArrayList<>();
+        orderRepository.findAll().stream()
+                .filter(order -> CUSTOMER.equals(order.getCustomerName()))
+                .filter(order -> criteria.getStatuses().contains(order.getStatus()))
+                .forEach(order -> expected.add(order.getTotalAmount()));
+        archivedOrderRepository.findAll().forEach(order -> expected.add(order.getTotalAmount()));
+        expected.sort((left, right) -> right.compareTo(left));
+
+        List<BigDecimal> actual = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            orderService.searchOrders(criteria, page, 4, "totalAmount", "desc").getContent().stream()
+                    .map(OrderResponse::getTotalAmount)
+                    .forEach(actual::add);
+        }
+
+        Assertions.assertEquals(15, expected.size());
+        Assertions.assertEquals(expected.subList(0, 12), actual);
+    }
+
+    @Test
+    public void workerStatementsAreCountedForTheRequest() {
+
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setCustomerName(CUSTOMER);
+        criteria.setStatuses(List.of("PENDING", "DELIVERED"));
+
+        StatementCounter counter = StatementCounter.begin();
+        try {
+            orderService.searchOrders(criteria, 0, 4, "totalAmount", "desc");
+        } finally {
+            StatementCounter.end();
+        }
+
+        // PENDING and DELIVERED on orders, DELIVERED on orders_archive
+        Assertions.assertEquals(3, counter.getCount());
+    }
+
+    @Test
+    public void singleStatusAndListAreCombined() {
+
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setCustomerName(CUSTOMER);
+        criteria.setStatus("CONFIRMED");
+        criteria.setStatuses(List.of("SHIPPED"));
+
+        List<OrderResponse> orders = orderService.searchOrders(criteria, 0, 20, "totalAmount", "asc").getContent();
+
+        Assertions.assertEquals(10, orders.size());
+        Assertions.assertTrue(orders.stream().allMatch(order -> List.of("CONFIRMED", "SHIPPED").contains(order.getStatus())));
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.analytics.orderservice.service;
+
+import com.ecommerce.analytics.orderservice.dto.OrderRequest;
+import com.ecommerce.analytics.orderservice.dto.OrderResponse;
+import com.ecommerce.analytics.orderservice.exception.IdempotencyKeyConflictException;
+import com.ecommerce.analytics.orderservice.repository.IdempotencyKeyRepository;
+import com.ecommerce.analytics.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@SpringBootTest
+public class OrderServiceIdempotencyTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private RecentIdempotencyKeys recentIdempotencyKeys;
+
+    @Test
+    public void retryReturnsTheOriginalOrderWithoutASecondInsert() {
+
+        String key = UUID.randomUUID().toString();
+        long before = orderRepository.count();
+
+        OrderResponse first = orderService.createOrder(request(25.00), key);
+        OrderResponse retry = orderService.createOrder(request(25.00), key);
+
+        Assertions.assertEquals(first.getId(), retry.getId());
+        Assertions.assertEquals(first.getOrderNumber(), retry.getOrderNumber());
+        Assertions.assertEquals(before + 1, orderRepository.count());
+        Assertions.assertTrue(idempotencyKeyRepository.existsById(key));
+    }
+
+    @Test
+    public void retryAfterCacheEvictionIsAnsweredFromTheKeyTable() {
+
+        String key = UUID.randomUUID().toString();
+        long before = orderRepository.count();
+
+        OrderResponse first = orderService.createOrder(request(30.00), key);
+        recentIdempotencyKeys.clear();
+
+        // Same amount with a different scale is the same request
+        OrderResponse retry = orderService.createOrder(request(30.0), key);
+
+        Assertions.assertEquals(first.getId(), retry.getId());
+        Assertions.assertEquals(before + 1, orderRepository.count());
+    }
+
+    @Test
+    public void keyReusedForADifferentOrderIsRejected() {
+
+        String key = UUID.randomUUID().toString();
+
+        orderService.createOrder(request(40.00), key);
+
+        IdempotencyKeyConflictException cached = Assertions.assertThrows(IdempotencyKeyConflictException.class,
+                () -> orderService.createOrder(request(41.00), key));
+        Assertions.assertEquals("IDEMPOTENCY_KEY_MISMATCH", cached.getCode());
+
+        recentIdempotencyKeys.clear();
+
+        IdempotencyKeyConflictException stored = Assertions.assertThrows(IdempotencyKeyConflictException.class,
+                () -> orderService.createOrder(request(41.00), key));
+        Assertions.assertEquals("IDEMPOTENCY_KEY_MISMATCH", stored.getCode());
+    }
+
+    @Test
+    public void violationsUnrelatedToTheKeyAreNotReportedAsKeyConflicts() {
+
+        String key = UUID.randomUUID().toString();
+        OrderRequest tooLong = new OrderRequest("x".repeat(300), "retry@example.com", BigDecimal.valueOf(50.00));
+
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> orderService.createOrder(tooLong, key));
+        Assertions.assertFalse(idempotencyKeyRepository.existsById(key));
+
+        // The failed attempt left nothing behind, so the key is free for a corrected retry
+        OrderResponse retry = orderService.createOrder(request(50.00), key);
+        Assertions.assertNotNull(retry.getId());
+    }
+
+    private static OrderRequest request(double amount) {
+        return new OrderRequest("Retrying Client", "retry@example.com", BigDecimal.valueOf(amount));
+    }
+}
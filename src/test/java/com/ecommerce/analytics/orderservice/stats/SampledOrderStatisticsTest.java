@@ -0,0 +1,119 @@
+package com.ecommerce.analytics.orderservice.stats;
+
+import com.ecommerce.analytics.orderservice.dto.ConfidenceInterval;
+import com.ecommerce.analytics.orderservice.dto.OrderStatsResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class SampledOrderStatisticsTest {
+
+    private static final String[] STATUSES = {"PENDING", "CONFIRMED", "SHIPPED", "DELIVERED", "CANCELLED"};
+
+    @Test
+    public void fullSampleGivesExactValuesAndZeroWidthIntervals() {
+
+        List<SampledOrderStatistics.SampledOrder> orders = List.of(
+                order(1, "PENDING", "10.00"),
+                order(1, "DELIVERED", "20.00"),
+                order(2, "DELIVERED", "30.00"),
+                order(3, "CANCELLED", "40.00"));
+
+        OrderStatsResponse response = SampledOrderStatistics.estimate(orders, 1.0);
+
+        Assertions.assertEquals(OrderStatsResponse.APPROXIMATE, response.getMode());
+        Assertions.assertEquals(4, response.getTotalOrders());
+        Assertions.assertEquals(2, response.getDeliveredOrders());
+        Assertions.assertEquals(0, response.getShippedOrders());
+        Assertions.assertEquals(new BigDecimal("100.00"), response.getTotalRevenue());
+        Assertions.assertEquals(new BigDecimal("25.00"), response.getAverageOrderValue());
+        Assertions.assertEquals(new BigDecimal("20.00"), response.getMedianOrderValue());
+        Assertions.assertEquals(new BigDecimal("40.00"), response.getP95OrderValue());
+
+        for (ConfidenceInterval interval : response.getConfidenceIntervals().values()) {
+            Assertions.assertEquals(0, interval.getLower().compareTo(interval.getUpper()), interval.toString());
+        }
+    }
+
+    @Test
+    public void clusterSampleIntervalsCoverTheTruth() {
+
+        // 2,000 pages of 50 orders; amounts depend on the page, so rows on one page are alike
+        Random random = new Random(7);
+        List<SampledOrderStatistics.SampledOrder> population = new ArrayList<>();
+        for (long page = 0; page < 2_000; page++) {
+            double pageLevel = 20 + random.nextDouble() * 200;
+            for (int row = 0; row < 50; row++) {
+                double amount = pageLevel * (0.5 + random.nextDouble());
+                population.add(order(page, STATUSES[random.nextInt(STATUSES.length)], String.format("%.2f", amount)));
+            }
+        }
+
+        OrderStatsResponse truth = SampledOrderStatistics.estimate(population, 1.0);
+
+        int trials = 200;
+        int ordersCovered = 0;
+        int revenueCovered = 0;
+        int medianCovered = 0;
+
+        for (int trial = 0; trial < trials; trial++) {
+
+            double rate = 0.05;
+            List<SampledOrderStatistics.SampledOrder> sample = new ArrayList<>();
+            long currentPage = -1;
+            boolean pageSampled = false;
+
+            for (SampledOrderStatistics.SampledOrder order : population) {
+                if (order.cluster() != currentPage) {
+                    currentPage = order.cluster();
+                    pageSampled = random.nextDouble() < rate;
+                }
+                if (pageSampled) {
+                    sample.add(order);
+                }
+            }
+
+            OrderStatsResponse estimate = SampledOrderStatistics.estimate(sample, rate);
+
+            ordersCovered += covers(estimate, "totalOrders", BigDecimal.valueOf(truth.getTotalOrders())) ? 1 : 0;
+            revenueCovered += covers(estimate, "totalRevenue", truth.getTotalRevenue()) ? 1 : 0;
+            medianCovered += covers(estimate, "medianOrderValue", truth.getMedianOrderValue()) ? 1 : 0;
+        }
+
+        // Nominal 95%, allowing for the binomial spread over 200 trials
+        Assertions.assertTrue(ordersCovered >= 0.9 * trials, "totalOrders covered " + ordersCovered);
+        Assertions.assertTrue(revenueCovered >= 0.9 * trials, "totalRevenue covered " + revenueCovered);
+        Assertions.assertTrue(medianCovered >= 0.9 * trials, "medianOrderValue covered " + medianCovered);
+    }
+
+    @Test
+    public void customerCountIsEstimatedFromTheSampledCustomerRows() {
+
+        OrderStatsResponse full = SampledOrderStatistics.estimate(List.of(), 1.0);
+        SampledOrderStatistics.estimateCustomers(full, List.of(1L, 1L, 2L), 1.0);
+
+        Assertions.assertEquals(3, full.getDistinctCustomers());
+        ConfidenceInterval exact = full.getConfidenceIntervals().get("distinctCustomers");
+        Assertions.assertEquals(0, exact.getLower().compareTo(exact.getUpper()));
+
+        OrderStatsResponse sampled = SampledOrderStatistics.estimate(List.of(), 1.0);
+        SampledOrderStatistics.estimateCustomers(sampled, List.of(1L, 1L, 2L), 0.1);
+
+        Assertions.assertEquals(30, sampled.getDistinctCustomers());
+        Assertions.assertTrue(covers(sampled, "distinctCustomers", BigDecimal.valueOf(30)));
+        Assertions.assertTrue(sampled.getConfidenceIntervals().get("distinctCustomers").getLower().longValue() >= 3);
+    }
+
+    private static boolean covers(OrderStatsResponse estimate, String field, BigDecimal truth) {
+        ConfidenceInterval interval = estimate.getConfidenceIntervals().get(field);
+        return interval.getLower().compareTo(truth) <= 0 && interval.getUpper().compareTo(truth) >= 0;
+    }
+
+    private static SampledOrderStatistics.SampledOrder order(long cluster, String status, String amount) {
+        return new SampledOrderStatistics.SampledOrder(cluster, status, new BigDecimal(amount));
+    }
+}